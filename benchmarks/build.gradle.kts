@@ -0,0 +1,32 @@
+plugins {
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+// Not an application; keep the plain jar only
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    jmh(project(":services:booking-service"))
+    jmh(project(":services:api-gateway"))
+    jmh(project(":services:checkin-service"))
+    jmh("jakarta.persistence:jakarta.persistence-api")
+    jmh("io.micrometer:micrometer-core")
+    jmh("io.jsonwebtoken:jjwt-impl:0.12.5")
+    jmh("io.jsonwebtoken:jjwt-jackson:0.12.5")
+}
+
+// ./gradlew :benchmarks:jmh -> build/results/jmh/results.json, diff it across releases
+jmh {
+    jmhVersion.set("1.37")
+    zip64.set(true)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeOnIteration.set("2s")
+    warmup.set("2s")
+    (project.findProperty("jmhInclude") as String?)?.let { includes.set(listOf(it)) }
+}
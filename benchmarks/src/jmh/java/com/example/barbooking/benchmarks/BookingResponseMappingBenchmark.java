@@ -0,0 +1,63 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.infrastructure.adapter.web.BookingController.BookingResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping, single booking and a user history sized list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BookingResponseMappingBenchmark {
+
+    @Param({"200"})
+    public int historySize;
+
+    private Booking booking;
+    private List<Booking> history;
+
+    @Setup
+    public void setUp() {
+        booking = booking(1L);
+        history = new ArrayList<>(historySize);
+        for (long id = 1; id <= historySize; id++) {
+            history.add(booking(id));
+        }
+    }
+
+    @Benchmark
+    public BookingResponse fromBooking() {
+        return BookingResponse.fromBooking(booking);
+    }
+
+    @Benchmark
+    public List<BookingResponse> fromBookingHistory() {
+        return history.stream().map(BookingResponse::fromBooking).toList();
+    }
+
+    private static Booking booking(long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return Booking.builder()
+                .id(id)
+                .userId(7L)
+                .tableId(12L)
+                .bookingType(Booking.BookingType.PREMIUM)
+                .timeSlot(Booking.TimeSlot.SLOT_22_00)
+                .bookingDate(now.plusDays(id % 30))
+                .guestCount(4)
+                .fee(1000.0)
+                .status(Booking.BookingStatus.CONFIRMED)
+                .paymentId(id)
+                .qrToken("5f0c2f7e-1b7d-4c1a-9d8e-" + id)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking state machine: full happy path and cancellation from each cancellable status.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BookingStateTransitionBenchmark {
+
+    private final LocalDateTime bookingDate = LocalDateTime.now().plusDays(1);
+
+    @Benchmark
+    public Booking confirmCheckInComplete() {
+        Booking booking = newBooking();
+        booking.confirm(42L);
+        booking.checkIn();
+        booking.complete();
+        return booking;
+    }
+
+    @Benchmark
+    public Booking confirmThenCancel() {
+        Booking booking = newBooking();
+        booking.confirm(42L);
+        booking.cancel();
+        return booking;
+    }
+
+    @Benchmark
+    public boolean rejectedTransitionCheck() {
+        return Booking.Transition.COMPLETE.isAllowedFrom(Booking.BookingStatus.CONFIRMED);
+    }
+
+    private Booking newBooking() {
+        return Booking.builder()
+                .id(1L)
+                .userId(7L)
+                .zoneId(3L)
+                .bookingType(Booking.BookingType.NORMAL)
+                .timeSlot(Booking.TimeSlot.SLOT_21_00)
+                .bookingDate(bookingDate)
+                .guestCount(4)
+                .fee(500.0)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway JWT verification, paid on every authenticated request.
+ * {@code uncached} has a zero cache TTL, so it measures the signature check and parsing alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "MySecretKeyForBarBookingSystemMustBeLongEnoughForHS256Algorithm";
+
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtUtil(SECRET, 86_400_000L, 100_000, 300, new SimpleMeterRegistry());
+        uncached = new JwtUtil(SECRET, 86_400_000L, 100_000, 0, new SimpleMeterRegistry());
+        token = cached.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return cached.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return cached.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.booking.application.OutboxEventFactory;
+import com.example.barbooking.booking.domain.model.OutboxEvent;
+import com.example.barbooking.booking.infrastructure.config.JacksonConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox payload serialization as done for every booking state change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OutboxPayloadBenchmark {
+
+    private OutboxEventFactory outboxEventFactory;
+
+    @Setup
+    public void setUp() {
+        outboxEventFactory = new OutboxEventFactory(new JacksonConfig().objectMapper());
+    }
+
+    @Benchmark
+    public OutboxEvent bookingConfirmedEvent() {
+        return outboxEventFactory.create(OutboxEvent.EventType.BOOKING_CONFIRMED, 123456L, 789L);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.checkin.application.QRCodeGeneratorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PNG rendering of a booking's QR token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class QRCodeGenerationBenchmark {
+
+    private final QRCodeGeneratorService qrCodeGeneratorService = new QRCodeGeneratorService();
+    private final String qrToken = UUID.randomUUID().toString();
+
+    @Benchmark
+    public byte[] generatePng() {
+        return qrCodeGeneratorService.generateQRCodeImage(qrToken);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.barbooking.benchmarks;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TimeSlotBenchmark {
+
+    @Param({"SLOT_20_00", "SLOT_22_00"})
+    public Booking.TimeSlot timeSlot;
+
+    @Param({"NORMAL", "PREMIUM"})
+    public Booking.BookingType bookingType;
+
+    private final LocalDateTime date = LocalDateTime.of(2024, 6, 14, 13, 37, 12);
+
+    @Benchmark
+    public double feeForBookingType() {
+        return timeSlot.getFeeForBookingType(bookingType);
+    }
+
+    @Benchmark
+    public LocalDateTime slotDateTime() {
+        return timeSlot.getSlotDateTime(date);
+    }
+}
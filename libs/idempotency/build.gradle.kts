@@ -0,0 +1,22 @@
+plugins {
+    `java-library`
+}
+
+// Library shared by booking-service and payment-service; no boot jar
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    implementation("org.springframework:spring-web")
+    implementation("org.springframework.data:spring-data-redis")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("io.micrometer:micrometer-core")
+    implementation("org.slf4j:slf4j-api")
+    compileOnly("jakarta.servlet:jakarta.servlet-api")
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+
+    testImplementation("jakarta.servlet:jakarta.servlet-api")
+}
@@ -0,0 +1,303 @@
+package com.example.barbooking.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Makes POSTs that carry an {@code Idempotency-Key} header safe to retry. The first request
+ * with a key runs normally and its response is stored in Redis; retries with the same key get
+ * that response replayed without reaching the controller. Recently stored responses are also
+ * kept in process so a retry storm is served from memory.
+ * <p>
+ * Keys are scoped to the caller and the endpoint; keyed requests without a caller identity are
+ * rejected with 400 so anonymous clients can never see each other's responses. Reusing a key
+ * with a different body is rejected with 422, and a retry that arrives while the first request is still running gets
+ * 409. 5xx responses are not stored, so the client can retry those. If Redis is unavailable
+ * requests go through without idempotency.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String keyPrefix;
+    private final Duration responseTtl;
+    private final Duration lockTtl;
+    private final Cache<String, StoredResponse> localCache;
+
+    public IdempotencyFilter(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             String keyPrefix, Duration responseTtl, Duration lockTtl, Duration localTtl, long localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.keyPrefix = keyPrefix;
+        this.responseTtl = responseTtl;
+        this.lockTtl = lockTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + HEADER + " header");
+            return;
+        }
+
+        String caller = caller(request);
+        if (caller == null) {
+            count("anonymous");
+            response.sendError(HttpStatus.BAD_REQUEST.value(), HEADER + " requires an authenticated caller");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String key = keyPrefix + sha256(request.getMethod() + ' ' + request.getRequestURI() + ' '
+                + caller + ' ' + idempotencyKey);
+        String requestHash = sha256(cachedRequest.body);
+
+        StoredResponse local = localCache.getIfPresent(key);
+        if (local != null) {
+            replay(local, requestHash, response, "local");
+            return;
+        }
+
+        StoredResponse stored;
+        try {
+            stored = claim(key, requestHash);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, processing request without it: {}", e.getMessage());
+            count("bypassed");
+            chain.doFilter(cachedRequest, response);
+            return;
+        }
+        if (stored != null) {
+            if (stored.inProgress()) {
+                count("conflict");
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still being processed");
+                return;
+            }
+            localCache.put(key, stored);
+            replay(stored, requestHash, response, "redis");
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            chain.doFilter(cachedRequest, cachingResponse);
+            completed = true;
+        } finally {
+            complete(key, requestHash, cachingResponse, completed);
+            cachingResponse.copyBodyToResponse();
+        }
+        count("executed");
+    }
+
+    /**
+     * Returns the stored entry for the key, or null if this request now holds it and should run.
+     */
+    private StoredResponse claim(String key, String requestHash) {
+        String marker = write(StoredResponse.inProgress(requestHash));
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, marker, lockTtl))) {
+                return null;
+            }
+            String existing = redisTemplate.opsForValue().get(key);
+            if (existing != null) {
+                return read(existing);
+            }
+            // Expired between the two calls, try to take it again
+        }
+        return StoredResponse.inProgress(requestHash);
+    }
+
+    private void complete(String key, String requestHash, ContentCachingResponseWrapper response, boolean completed) {
+        try {
+            if (!completed || response.getStatus() >= 500) {
+                redisTemplate.delete(key);
+                return;
+            }
+            StoredResponse stored = new StoredResponse(requestHash, response.getStatus(), response.getContentType(),
+                    response.getContentAsByteArray());
+            redisTemplate.opsForValue().set(key, write(stored), responseTtl);
+            localCache.put(key, stored);
+        } catch (DataAccessException e) {
+            log.warn("Failed to store idempotent response: {}", e.getMessage());
+        }
+    }
+
+    private void replay(StoredResponse stored, String requestHash, HttpServletResponse response, String source)
+            throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            count("mismatch");
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(), HEADER + " was already used with a different request");
+            return;
+        }
+        count("replayed_" + source);
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * The user id forwarded by the gateway, else a hash of the credentials, else null. Services
+     * verify the signed identity headers ahead of this filter, so the user id can be trusted here.
+     */
+    private static String caller(HttpServletRequest request) {
+        String userId = request.getHeader("X-User-Id");
+        if (userId != null && !userId.isBlank()) {
+            return userId;
+        }
+        String authorization = request.getHeader("Authorization");
+        return authorization == null || authorization.isBlank() ? null : sha256(authorization);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("http.server.idempotency", "outcome", outcome).increment();
+    }
+
+    private String write(StoredResponse stored) {
+        try {
+            return objectMapper.writeValueAsString(stored);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private StoredResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, StoredResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt idempotency entry", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Status 0 marks a request that is still running.
+     */
+    record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+
+        static StoredResponse inProgress(String requestHash) {
+            return new StoredResponse(requestHash, 0, null, new byte[0]);
+        }
+
+        boolean inProgress() {
+            return status == 0;
+        }
+    }
+
+    /**
+     * Reads the body up front so it can be hashed and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available and fully read at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.barbooking.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyFilter filter;
+    private int nextStatus;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(call -> redis.putIfAbsent(call.getArgument(0), call.getArgument(1)) == null);
+        when(values.get(anyString())).thenAnswer(call -> redis.get(call.<String>getArgument(0)));
+        doAnswer(call -> redis.put(call.getArgument(0), call.getArgument(1)))
+                .when(values).set(anyString(), anyString(), any(Duration.class));
+        when(redisTemplate.delete(anyString())).thenAnswer(call -> redis.remove(call.<String>getArgument(0)) != null);
+
+        filter = new IdempotencyFilter(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), "test:",
+                Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofSeconds(10), 100);
+        nextStatus = 201;
+    }
+
+    @Test
+    void retryReplaysFirstResponseWithoutRunningTheRequestAgain() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"guestCount\":2}");
+        MockHttpServletResponse retry = send("key-1", "{\"guestCount\":2}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(retry.getHeader("Idempotent-Replayed")).isEqualTo("true");
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() throws Exception {
+        send("key-1", "{\"guestCount\":2}");
+        MockHttpServletResponse reused = send("key-1", "{\"guestCount\":3}");
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void retryWhileFirstRequestRunsGetsConflict() throws Exception {
+        FilterChain blockingChain = (request, response) -> {
+            executions.incrementAndGet();
+            // A retry arrives before the first request has finished
+            MockHttpServletResponse retry = send("key-1", "{}");
+            assertThat(retry.getStatus()).isEqualTo(409);
+        };
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), blockingChain);
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotStored() throws Exception {
+        nextStatus = 503;
+        send("key-1", "{}");
+        nextStatus = 201;
+        MockHttpServletResponse retry = send("key-1", "{}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void keyedRequestWithoutCallerIsRejected() throws Exception {
+        MockHttpServletRequest anonymous = request("key-1", "{}");
+        anonymous.removeHeader("Authorization");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(anonymous, response, (request, chainResponse) -> executions.incrementAndGet());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+        assertThat(redis).isEmpty();
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotTracked() throws Exception {
+        send(null, "{}");
+        send(null, "{}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(redis).isEmpty();
+    }
+
+    @Test
+    void cachedBodyCanBeReadAsynchronously() throws Exception {
+        StringBuilder received = new StringBuilder();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"guestCount\":2}"), response, (request, chainResponse) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        received.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    received.append('|');
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) chainResponse).setStatus(201);
+        });
+
+        assertThat(received).hasToString("{\"guestCount\":2}|");
+        assertThat(response.getStatus()).isEqualTo(201);
+    }
+
+    private MockHttpServletResponse send(String key, String body) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, (request, chainResponse) -> {
+            String received = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(received).isEqualTo(body);
+            int execution = executions.incrementAndGet();
+            chainResponse.setContentType("application/json");
+            ((HttpServletResponse) chainResponse).setStatus(nextStatus);
+            chainResponse.getWriter().write("{\"id\":" + execution + "}");
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.addHeader("Authorization", "Bearer token");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,18 @@
+plugins {
+    `java-library`
+}
+
+// Library shared by booking-service, payment-service and user-service; no boot jar
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    implementation("org.springframework:spring-web")
+    implementation("org.slf4j:slf4j-api")
+    compileOnly("jakarta.servlet:jakarta.servlet-api")
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+
+    testImplementation("jakarta.servlet:jakarta.servlet-api")
+}
@@ -0,0 +1,98 @@
+package com.example.barbooking.identity;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Checks the HMAC signature api-gateway puts on the {@code X-User-Id}/{@code X-User-Role}
+ * headers, so anything downstream can trust them. The JWT itself is verified only at the
+ * gateway. Requests carrying identity headers with a bad or stale signature are rejected with
+ * 401; requests without them pass through unauthenticated. Services that need more than the
+ * check override {@link #onTrustedIdentity}.
+ */
+@Slf4j
+public class SignedIdentityFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String TIMESTAMP_HEADER = "X-Identity-Timestamp";
+    public static final String SIGNATURE_HEADER = "X-Identity-Signature";
+
+    private final SecretKeySpec key;
+    private final long maxAgeSeconds;
+
+    public SignedIdentityFilter(String secret, long maxAgeSeconds) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String role = request.getHeader(USER_ROLE_HEADER);
+        if (!isTrusted(userId, role, request.getHeader(TIMESTAMP_HEADER), request.getHeader(SIGNATURE_HEADER))) {
+            log.warn("Rejected unsigned or stale identity headers for user {}", userId);
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Untrusted identity headers");
+            return;
+        }
+
+        onTrustedIdentity(request, Long.valueOf(userId), role);
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Called once the identity headers check out, before the rest of the chain runs.
+     *
+     * @param role the caller's role, or null if the gateway sent none
+     */
+    protected void onTrustedIdentity(HttpServletRequest request, Long userId, String role) {
+    }
+
+    private boolean isTrusted(String userId, String role, String timestamp, String signature) {
+        if (timestamp == null || signature == null) {
+            return false;
+        }
+        long issuedAt;
+        try {
+            Long.parseLong(userId);
+            issuedAt = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - issuedAt) > maxAgeSeconds) {
+            return false;
+        }
+        byte[] expected = Base64.getUrlEncoder().withoutPadding()
+                .encode(sign(userId + ":" + role + ":" + timestamp));
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] sign(String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot verify identity headers", e);
+        }
+    }
+}
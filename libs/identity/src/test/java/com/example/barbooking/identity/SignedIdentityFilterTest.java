@@ -0,0 +1,105 @@
+package com.example.barbooking.identity;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignedIdentityFilterTest {
+
+    private static final String SECRET = "test-identity-secret";
+
+    private final List<String> trusted = new ArrayList<>();
+    private final SignedIdentityFilter filter = new SignedIdentityFilter(SECRET, 300) {
+        @Override
+        protected void onTrustedIdentity(HttpServletRequest request, Long userId, String role) {
+            trusted.add(userId + ":" + role);
+        }
+    };
+
+    @Test
+    void signedHeadersPassThrough() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("42", "CUSTOMER", now, sign("42:CUSTOMER:" + now)), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(trusted).containsExactly("42:CUSTOMER");
+    }
+
+    @Test
+    void forgedUserIdIsRejected() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("43", "CUSTOMER", now, sign("42:CUSTOMER:" + now)), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(trusted).isEmpty();
+    }
+
+    @Test
+    void unsignedUserIdIsRejected() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.addHeader(SignedIdentityFilter.USER_ID_HEADER, "42");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void staleSignatureIsRejected() throws Exception {
+        long old = Instant.now().getEpochSecond() - 3600;
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("42", "CUSTOMER", old, sign("42:CUSTOMER:" + old)), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void requestsWithoutIdentityPassThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/bookings"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(trusted).isEmpty();
+    }
+
+    private static MockHttpServletRequest request(String userId, String role, long timestamp, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.addHeader(SignedIdentityFilter.USER_ID_HEADER, userId);
+        request.addHeader(SignedIdentityFilter.USER_ROLE_HEADER, role);
+        request.addHeader(SignedIdentityFilter.TIMESTAMP_HEADER, Long.toString(timestamp));
+        request.addHeader(SignedIdentityFilter.SIGNATURE_HEADER, signature);
+        return request;
+    }
+
+    // Same scheme as api-gateway's IdentitySigner
+    private static String sign(String value) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
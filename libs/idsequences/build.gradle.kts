@@ -0,0 +1,16 @@
+plugins {
+    `java-library`
+}
+
+// Library shared by payment-service and checkin-service; no boot jar
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    implementation("org.springframework:spring-jdbc")
+    implementation("jakarta.annotation:jakarta.annotation-api")
+    implementation("org.slf4j:slf4j-api")
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+}
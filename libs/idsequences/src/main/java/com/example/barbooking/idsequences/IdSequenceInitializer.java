@@ -0,0 +1,48 @@
+package com.example.barbooking.idsequences;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+/**
+ * Seeds id_sequences past the highest existing ids before the first insert, for services that
+ * have no migrations. Hibernate would otherwise create the rows at their initial value, so pooled
+ * ids handed out on a database with data would collide with rows written under IDENTITY.
+ * Raising a row is always safe, so this runs on every start and on every replica.
+ * Services subclass it as a bean created after the EntityManagerFactory, so ddl-auto has created
+ * the tables first.
+ */
+@Slf4j
+public class IdSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, String> sequences;
+    private final int allocationSize;
+
+    /**
+     * @param sequences      pkColumnValue of each {@code @TableGenerator} -> table whose ids it allocates
+     * @param allocationSize the generators' allocationSize
+     */
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, Map<String, String> sequences, int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequences = Map.copyOf(sequences);
+        this.allocationSize = allocationSize;
+    }
+
+    @PostConstruct
+    public void seed() {
+        sequences.forEach((sequence, table) -> {
+            // A healthy row is always at least one block past the highest id
+            String maxId = "(SELECT COALESCE(MAX(id), 0) FROM " + table + ")";
+            jdbcTemplate.update("INSERT IGNORE INTO id_sequences (sequence_name, next_val) " +
+                    "SELECT ?, " + maxId + " + " + 2 * allocationSize, sequence);
+            int raised = jdbcTemplate.update("UPDATE id_sequences SET next_val = " + maxId + " + " + 2 * allocationSize +
+                    " WHERE sequence_name = ? AND next_val < " + maxId + " + " + allocationSize, sequence);
+            if (raised > 0) {
+                log.info("Raised id_sequences row {} past the existing ids in {}", sequence, table);
+            }
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.barbooking.idsequences;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class IdSequenceInitializerTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void everySequenceIsSeededAndRaisedFromItsOwnTable() {
+        new IdSequenceInitializer(jdbcTemplate, Map.of("payments", "payments", "outbox_events", "outbox_events"), 50).seed();
+
+        verify(jdbcTemplate).update(contains("INSERT IGNORE INTO id_sequences"), eq("payments"));
+        verify(jdbcTemplate).update(contains("WHERE sequence_name = ? AND next_val < (SELECT COALESCE(MAX(id), 0) FROM payments) + 50"), eq("payments"));
+        verify(jdbcTemplate).update(contains("SELECT ?, (SELECT COALESCE(MAX(id), 0) FROM outbox_events) + 100"), eq("outbox_events"));
+        verify(jdbcTemplate).update(contains("WHERE sequence_name = ? AND next_val < (SELECT COALESCE(MAX(id), 0) FROM outbox_events) + 50"), eq("outbox_events"));
+    }
+}
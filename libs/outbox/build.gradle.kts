@@ -0,0 +1,19 @@
+plugins {
+    `java-library`
+}
+
+// Library shared by booking-service and payment-service; no boot jar
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    implementation("org.springframework:spring-context")
+    implementation("org.springframework:spring-tx")
+    implementation("org.springframework.amqp:spring-rabbit")
+    implementation("io.micrometer:micrometer-core")
+    implementation("jakarta.annotation:jakarta.annotation-api")
+    implementation("org.slf4j:slf4j-api")
+    compileOnly("org.projectlombok:lombok")
+    annotationProcessor("org.projectlombok:lombok")
+}
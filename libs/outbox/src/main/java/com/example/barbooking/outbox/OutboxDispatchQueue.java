@@ -0,0 +1,101 @@
+package com.example.barbooking.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast path for outbox events: ids are queued as soon as the writing transaction
+ * commits and relayed by a dedicated thread, instead of waiting for the next poll.
+ * If the queue is full or a relay fails, the scheduled poll of the {@link OutboxRelay}
+ * still picks the events up.
+ */
+@Slf4j
+public class OutboxDispatchQueue {
+
+    private final OutboxRelay<?> relay;
+    private final int batchSize;
+    private final BlockingQueue<PendingDispatch> queue;
+    private final Timer dispatchLatency;
+
+    private Thread dispatchThread;
+    private volatile boolean running = true;
+
+    public OutboxDispatchQueue(OutboxRelay<?> relay, MeterRegistry meterRegistry, int queueCapacity, int batchSize) {
+        this.relay = relay;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dispatchLatency = Timer.builder("outbox.dispatch.latency")
+                .description("Time from transaction commit to broker confirm")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatchThread = new CustomizableThreadFactory("outbox-dispatch-").newThread(this::dispatchLoop);
+        dispatchThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatchThread != null) {
+            dispatchThread.interrupt();
+        }
+    }
+
+    /**
+     * Queue a committed outbox event for relay. Call only after the writing transaction commits.
+     */
+    public void enqueue(Long outboxEventId) {
+        if (!queue.offer(new PendingDispatch(outboxEventId, System.nanoTime()))) {
+            log.warn("Outbox dispatch queue full, event {} left for the poller", outboxEventId);
+        }
+    }
+
+    private void dispatchLoop() {
+        List<PendingDispatch> pending = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingDispatch first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                pending.add(first);
+                queue.drainTo(pending, batchSize - 1);
+
+                Set<Long> confirmed = new HashSet<>(
+                        relay.publishEvents(pending.stream().map(PendingDispatch::id).toList()));
+
+                // Only confirmed events are timed; skipped or unconfirmed ones are left to the poller
+                long now = System.nanoTime();
+                for (PendingDispatch p : pending) {
+                    if (confirmed.contains(p.id())) {
+                        dispatchLatency.record(now - p.enqueuedAt(), TimeUnit.NANOSECONDS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Outbox dispatch failed, poller will retry: {}", e.getMessage());
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    private record PendingDispatch(Long id, long enqueuedAt) {}
+}
@@ -0,0 +1,153 @@
+package com.example.barbooking.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Relays outbox events to RabbitMQ in bounded batches.
+ * Each worker claims rows with FOR UPDATE SKIP LOCKED, publishes the whole batch,
+ * waits for publisher confirms and then marks the confirmed rows processed in a
+ * single UPDATE. Workers (and other instances) never see the same row concurrently.
+ * Services supply the queries and the message for each event; fresh events are
+ * normally relayed by {@link OutboxDispatchQueue} and {@link #relayPending()} only
+ * picks up what that fast path missed.
+ *
+ * @param <E> the service's outbox event entity
+ */
+@Slf4j
+public abstract class OutboxRelay<E> {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int workers;
+    private final long confirmTimeoutMs;
+    private final ExecutorService relayExecutor;
+
+    protected OutboxRelay(TransactionTemplate transactionTemplate, int batchSize, int workers, long confirmTimeoutMs) {
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.relayExecutor = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("outbox-relay-"));
+    }
+
+    /**
+     * Drain unprocessed events with all workers; returns once none is left or a batch was only partly confirmed.
+     */
+    public void relayPending() {
+        List<CompletableFuture<Void>> runs = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            runs.add(CompletableFuture.runAsync(this::drain, relayExecutor));
+        }
+        CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Relay specific events right away. Rows already relayed or claimed by another worker are skipped.
+     *
+     * @return ids of the events the broker confirmed and that are now marked processed
+     */
+    public List<Long> publishEvents(Collection<Long> ids) {
+        return relay(() -> claimByIds(ids));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relayExecutor.shutdown();
+    }
+
+    /**
+     * Lock up to {@code limit} unprocessed events, skipping rows claimed by another worker.
+     */
+    protected abstract List<E> claimBatch(int limit);
+
+    /**
+     * Lock the given events if they are still unprocessed, skipping rows claimed by another worker.
+     */
+    protected abstract List<E> claimByIds(Collection<Long> ids);
+
+    protected abstract void markProcessed(List<Long> ids, LocalDateTime processedAt);
+
+    protected abstract Long idOf(E event);
+
+    /**
+     * Send one event with publisher confirms. The correlation id is the event id, and should
+     * also be the message id so consumers can de-duplicate redeliveries after a relay crash.
+     */
+    protected abstract void send(E event, CorrelationData correlationData);
+
+    private void drain() {
+        int relayed;
+        do {
+            relayed = relay(() -> claimBatch(batchSize)).size();
+        } while (relayed == batchSize); // A full, fully confirmed batch means more may be waiting
+    }
+
+    private List<Long> relay(Supplier<List<E>> claim) {
+        List<Long> relayed = transactionTemplate.execute(status -> {
+            List<E> batch = claim.get();
+            if (batch.isEmpty()) {
+                return List.of();
+            }
+
+            List<Long> confirmed = publishWithConfirms(batch);
+            markProcessed(confirmed, LocalDateTime.now());
+            log.info("Relayed {}/{} outbox events", confirmed.size(), batch.size());
+            return confirmed;
+        });
+        return relayed == null ? List.of() : relayed;
+    }
+
+    private List<Long> publishWithConfirms(List<E> batch) {
+        // Send the whole batch first, then collect the confirms
+        Map<Long, CorrelationData> inFlight = new LinkedHashMap<>();
+        for (E event : batch) {
+            Long id = idOf(event);
+            CorrelationData correlationData = new CorrelationData(String.valueOf(id));
+            try {
+                send(event, correlationData);
+                inFlight.put(id, correlationData);
+            } catch (AmqpException e) {
+                log.error("Failed to publish event {}: {}", id, e.getMessage());
+            }
+        }
+
+        List<Long> confirmed = new ArrayList<>(inFlight.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (Map.Entry<Long, CorrelationData> entry : inFlight.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                CorrelationData.Confirm confirm = entry.getValue().getFuture().get(remaining, TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    confirmed.add(entry.getKey());
+                } else {
+                    log.warn("Broker rejected event {}: {}", entry.getKey(), confirm.getReason());
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                log.error("No confirm for event {}: {}", entry.getKey(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return confirmed;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.barbooking.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboxRelayTest {
+
+    private enum Broker { ACK, NACK, SILENT, FAIL }
+
+    private final FakeRelay relay = new FakeRelay(Map.of(1L, Broker.ACK, 2L, Broker.NACK, 3L, Broker.SILENT, 4L, Broker.FAIL, 5L, Broker.ACK));
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    void onlyConfirmedEventsAreMarkedAndReturned() {
+        List<Long> confirmed = relay.publishEvents(List.of(1L, 2L, 3L, 4L, 5L));
+
+        assertThat(confirmed).containsExactly(1L, 5L);
+        assertThat(relay.marked).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void unknownIdsAreSkipped() {
+        assertThat(relay.publishEvents(List.of(42L))).isEmpty();
+        assertThat(relay.marked).isEmpty();
+    }
+
+    private static final class FakeRelay extends OutboxRelay<Long> {
+
+        private final Map<Long, Broker> broker;
+        private final List<Long> marked = new ArrayList<>();
+
+        FakeRelay(Map<Long, Broker> broker) {
+            super(new TransactionTemplate(mock(PlatformTransactionManager.class)), 10, 1, 50);
+            this.broker = broker;
+        }
+
+        @Override
+        protected List<Long> claimBatch(int limit) {
+            return broker.keySet().stream().sorted().limit(limit).toList();
+        }
+
+        @Override
+        protected List<Long> claimByIds(Collection<Long> ids) {
+            return ids.stream().filter(broker::containsKey).toList();
+        }
+
+        @Override
+        protected void markProcessed(List<Long> ids, LocalDateTime processedAt) {
+            marked.addAll(ids);
+        }
+
+        @Override
+        protected Long idOf(Long event) {
+            return event;
+        }
+
+        @Override
+        protected void send(Long event, CorrelationData correlationData) {
+            switch (broker.get(event)) {
+                case ACK -> correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+                case NACK -> correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+                case SILENT -> { }
+                case FAIL -> throw new AmqpIOException(new IOException("channel closed"));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+import org.springframework.boot.gradle.tasks.bundling.BootJar
+
+plugins {
+    `java-library`
+}
+
+val services = listOf(
+    "api-gateway",
+    "user-service",
+    "table-service",
+    "booking-service",
+    "checkin-service",
+    "payment-service"
+)
+services.forEach { evaluationDependsOn(":services:$it") }
+
+// Not an application; keep the plain jar only
+tasks.named("bootJar") {
+    enabled = false
+}
+
+dependencies {
+    implementation("org.testcontainers:mysql")
+    implementation("org.testcontainers:rabbitmq")
+    implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+    runtimeOnly("ch.qos.logback:logback-classic")
+}
+
+// ./gradlew :loadtest:loadTest -Ploadtest.rate=20 -Ploadtest.duration=120
+// Pass -Ploadtest.startStack=false -Ploadtest.baseUrl=http://host:8080 to target a running stack instead.
+// The started gateway runs without its per-IP rate and concurrency limits; -Ploadtest.gatewayLimits=true keeps them.
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives the booking flow through the api-gateway and reports latency per endpoint"
+    mainClass.set("com.example.barbooking.loadtest.LoadTestRunner")
+    classpath = sourceSets["main"].runtimeClasspath
+
+    services.forEach { service ->
+        val bootJar = project(":services:$service").tasks.named<BootJar>("bootJar")
+        dependsOn(bootJar)
+        systemProperty("loadtest.jar.$service", bootJar.get().archiveFile.get().asFile.absolutePath)
+    }
+    systemProperty("loadtest.outputDir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    listOf("baseUrl", "startStack", "rate", "duration", "warmup", "maxInFlight", "zones", "gatewayLimits").forEach { key ->
+        project.findProperty("loadtest.$key")?.let { systemProperty("loadtest.$key", it) }
+    }
+}
+
+// ./gradlew :loadtest:threadModeBenchmark -Ploadtest.duration=60 -Ploadtest.concurrency=50,200,800,1600
+tasks.register<JavaExec>("threadModeBenchmark") {
+    group = "verification"
+    description = "Compares booking-service on platform and virtual threads under rising concurrency"
+    mainClass.set("com.example.barbooking.loadtest.ThreadModeBenchmark")
+    classpath = sourceSets["main"].runtimeClasspath
+
+    val bootJar = project(":services:booking-service").tasks.named<BootJar>("bootJar")
+    dependsOn(bootJar)
+    systemProperty("loadtest.jar.booking-service", bootJar.get().archiveFile.get().asFile.absolutePath)
+    systemProperty("loadtest.outputDir", layout.buildDirectory.dir("loadtest").get().asFile.absolutePath)
+    listOf("duration", "concurrency", "dbPoolSize").forEach { key ->
+        project.findProperty("loadtest.$key")?.let { systemProperty("loadtest.$key", it) }
+    }
+}
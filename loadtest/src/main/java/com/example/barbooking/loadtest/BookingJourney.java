@@ -0,0 +1,171 @@
+package com.example.barbooking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One customer night out through the api-gateway:
+ * register, login, book a paid zone slot, pay, fetch the QR token and get scanned in.
+ */
+public class BookingJourney {
+
+    public static final String REGISTER = "POST /api/users/register";
+    public static final String LOGIN = "POST /api/users/login";
+    public static final String CREATE_BOOKING = "POST /api/bookings";
+    public static final String INITIATE_PAYMENT = "POST /api/payments/initiate";
+    public static final String PROCESS_PAYMENT = "POST /api/payments/{id}/process";
+    public static final String QR_TOKEN = "GET /api/bookings/{id}/qr-token";
+    public static final String CHECK_IN = "POST /api/checkin/scan";
+    public static final String JOURNEY = "journey";
+
+    public static final List<String> ENDPOINTS = List.of(
+            REGISTER, LOGIN, CREATE_BOOKING, INITIATE_PAYMENT, PROCESS_PAYMENT, QR_TOKEN, CHECK_IN, JOURNEY);
+
+    private static final int ZONE_CAPACITY = 40;
+    private static final String[] PAID_SLOTS = {"SLOT_21_00", "SLOT_22_00"};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration QR_TOKEN_WAIT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+    private final String baseUrl;
+    private final String runId;
+    private final List<Long> zoneIds;
+
+    public BookingJourney(HttpClient httpClient, ObjectMapper objectMapper, LatencyRecorder recorder,
+                          String baseUrl, String runId, List<Long> zoneIds) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+        this.baseUrl = baseUrl;
+        this.runId = runId;
+        this.zoneIds = zoneIds;
+    }
+
+    /**
+     * Run journey number {@code sequence}; {@code intendedStartNanos} is the scheduled arrival,
+     * so queueing delay counts towards the journey latency.
+     */
+    public void run(long sequence, long intendedStartNanos) {
+        boolean success = false;
+        try {
+            String username = "lt" + runId + sequence;
+            String email = username + "@loadtest.local";
+            String password = "loadtest-pw";
+
+            call(REGISTER, "POST", "/api/users/register", null, Map.of(
+                    "username", username,
+                    "password", password,
+                    "email", email,
+                    "fullName", "Load Test",
+                    "phoneNumber", String.format("08%08d", sequence % 100_000_000)));
+
+            JsonNode auth = call(LOGIN, "POST", "/api/users/login", null, Map.of(
+                    "email", email,
+                    "password", password));
+            String token = auth.path("token").asText();
+            long userId = auth.path("userId").asLong();
+
+            JsonNode booking = call(CREATE_BOOKING, "POST", "/api/bookings", token, bookingRequest(sequence, userId));
+            long bookingId = booking.path("id").asLong();
+
+            JsonNode payment = call(INITIATE_PAYMENT, "POST", "/api/payments/initiate", token, Map.of(
+                    "bookingId", bookingId,
+                    "amount", booking.path("fee").asDouble(),
+                    "paymentMethod", "CREDIT_CARD"));
+            call(PROCESS_PAYMENT, "POST", "/api/payments/" + payment.path("id").asLong() + "/process", token, null);
+
+            String qrToken = awaitQrToken(bookingId, token);
+            call(CHECK_IN, "POST", "/api/checkin/scan", token, Map.of(
+                    "qrToken", qrToken,
+                    "staffId", 1));
+            success = true;
+        } catch (Exception e) {
+            // The failing step was already recorded as an error
+        } finally {
+            recorder.record(JOURNEY, System.nanoTime() - intendedStartNanos, success);
+        }
+    }
+
+    /**
+     * Spread bookings so that no (date, slot, zone) gets more than its capacity.
+     */
+    private Map<String, Object> bookingRequest(long sequence, long userId) {
+        int slot = (int) (sequence % PAID_SLOTS.length);
+        int zone = (int) ((sequence / PAID_SLOTS.length) % zoneIds.size());
+        long day = 1 + sequence / ((long) PAID_SLOTS.length * zoneIds.size() * ZONE_CAPACITY);
+        return Map.of(
+                "userId", userId,
+                "zoneId", zoneIds.get(zone),
+                "bookingType", "NORMAL",
+                "timeSlot", PAID_SLOTS[slot],
+                "bookingDate", LocalDate.now().plusDays(day).atStartOfDay().toString(),
+                "guestCount", 2);
+    }
+
+    private String awaitQrToken(long bookingId, String token) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + QR_TOKEN_WAIT.toNanos();
+        while (true) {
+            HttpResponse<String> response = send(QR_TOKEN, request("GET", "/api/bookings/" + bookingId + "/qr-token", token, null));
+            if (response.statusCode() == 200) {
+                return objectMapper.readTree(response.body()).path("qrToken").asText();
+            }
+            if (response.statusCode() != 404 || System.nanoTime() > deadline) {
+                throw new IOException("QR token not issued for booking " + bookingId + ": " + response.statusCode());
+            }
+            // Payment confirmation reaches booking-service asynchronously
+            Thread.sleep(100);
+        }
+    }
+
+    private JsonNode call(String endpoint, String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = send(endpoint, request(method, path, token, body));
+        if (response.statusCode() >= 300) {
+            throw new IOException(endpoint + " returned " + response.statusCode());
+        }
+        return response.body().isEmpty() ? objectMapper.createObjectNode() : objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 429) {
+                recorder.recordRateLimited(endpoint);
+                return response;
+            }
+            // A 404 while polling for the QR token is expected, not an error
+            boolean success = response.statusCode() < 300 || (endpoint.equals(QR_TOKEN) && response.statusCode() == 404);
+            recorder.record(endpoint, System.nanoTime() - start, success);
+            return response;
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+
+    private HttpRequest request(String method, String path, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        return builder.method(method, publisher).build();
+    }
+}
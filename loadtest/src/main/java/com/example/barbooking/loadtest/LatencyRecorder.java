@@ -0,0 +1,88 @@
+package com.example.barbooking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms (microseconds) and error counts, safe for concurrent recording.
+ * Responses rejected by a rate limiter are counted apart and kept out of the histogram, so a
+ * run that trips the limiter does not report the limiter's latency as the stack's.
+ * {@link #reset()} discards everything recorded so far, which is how the warmup is excluded.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.recorder.recordValue(Math.max(1, latencyNanos / 1_000));
+        (success ? stats.successes : stats.errors).increment();
+    }
+
+    public void recordRateLimited(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).rateLimited.increment();
+    }
+
+    public void reset() {
+        endpoints.values().forEach(stats -> {
+            stats.recorder.reset();
+            stats.successes.reset();
+            stats.errors.reset();
+            stats.rateLimited.reset();
+        });
+    }
+
+    /**
+     * Snapshot every endpoint in the given order; endpoints never hit are left out.
+     */
+    public List<EndpointReport> report(List<String> order, double measuredSeconds) {
+        Map<String, EndpointReport> reports = new LinkedHashMap<>();
+        for (String name : order) {
+            Endpoint stats = endpoints.get(name);
+            if (stats == null) {
+                continue;
+            }
+            Histogram histogram = stats.recorder.getIntervalHistogram();
+            long successes = stats.successes.sum();
+            long errors = stats.errors.sum();
+            long rateLimited = stats.rateLimited.sum();
+            reports.put(name, new EndpointReport(
+                    name,
+                    successes,
+                    errors,
+                    rateLimited,
+                    (successes + errors + rateLimited) / measuredSeconds,
+                    histogram.getValueAtPercentile(50) / 1_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000.0,
+                    histogram.getValueAtPercentile(99.9) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0
+            ));
+        }
+        return List.copyOf(reports.values());
+    }
+
+    public record EndpointReport(
+            String endpoint,
+            long successes,
+            long errors,
+            long rateLimited,
+            double throughputPerSecond,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs
+    ) {}
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.barbooking.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rate        journeys started per second (open model, independent of response times)
+ * @param maxInFlight journeys allowed to run at once; arrivals beyond this are counted as dropped
+ * @param zones       zones created up front; bookings are spread over them to stay under slot capacity
+ * @param gatewayLimits keep the gateway's rate and concurrency limits on; all journeys come from one IP,
+ *                      so with limits on the run mostly measures 429s
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        boolean startStack,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        int zones,
+        boolean gatewayLimits,
+        Path outputDir
+) {
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+                Boolean.parseBoolean(System.getProperty("loadtest.startStack", "true")),
+                Double.parseDouble(System.getProperty("loadtest.rate", "10")),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup", "15"))),
+                Integer.parseInt(System.getProperty("loadtest.maxInFlight", "2000")),
+                Integer.parseInt(System.getProperty("loadtest.zones", "5")),
+                Boolean.parseBoolean(System.getProperty("loadtest.gatewayLimits", "false")),
+                Path.of(System.getProperty("loadtest.outputDir", "build/loadtest"))
+        );
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.barbooking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: journeys arrive at a fixed rate whatever the response times,
+ * each on its own virtual thread, and latency is measured from the scheduled arrival.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        LocalStack stack = config.startStack() ? new LocalStack(config.outputDir(), config.gatewayLimits()) : null;
+        try {
+            if (stack != null) {
+                stack.start();
+            }
+            new LoadTestRunner().run(config);
+        } finally {
+            if (stack != null) {
+                stack.close();
+            }
+        }
+    }
+
+    void run(LoadTestConfig config) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        List<Long> zoneIds = createZones(httpClient, objectMapper, config);
+        LatencyRecorder recorder = new LatencyRecorder();
+        String runId = Long.toString(System.currentTimeMillis() % 46_656, 36);
+        BookingJourney journey = new BookingJourney(httpClient, objectMapper, recorder, config.baseUrl(), runId, zoneIds);
+
+        long intervalNanos = (long) (1_000_000_000L / config.rate());
+        long warmupEnd = config.warmup().toNanos();
+        long totalNanos = warmupEnd + config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        LongAdder dropped = new LongAdder();
+
+        log.info("Running {} journeys/s for {}s after {}s warmup against {}",
+                config.rate(), config.duration().toSeconds(), config.warmup().toSeconds(), config.baseUrl());
+
+        boolean measuring = false;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; ; sequence++) {
+                long intendedStart = start + sequence * intervalNanos;
+                if (intendedStart - start >= totalNanos) {
+                    break;
+                }
+                if (!measuring && intendedStart - start >= warmupEnd) {
+                    recorder.reset();
+                    dropped.reset();
+                    measuring = true;
+                }
+                LockSupport.parkNanos(intendedStart - System.nanoTime());
+
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                long journeySequence = sequence;
+                executor.submit(() -> {
+                    try {
+                        journey.run(journeySequence, intendedStart);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(2, TimeUnit.MINUTES);
+        }
+
+        double measuredSeconds = config.duration().toNanos() / 1e9;
+        report(config, objectMapper, recorder.report(BookingJourney.ENDPOINTS, measuredSeconds), dropped.sum());
+    }
+
+    private List<Long> createZones(HttpClient httpClient, ObjectMapper objectMapper, LoadTestConfig config)
+            throws IOException, InterruptedException {
+        List<Long> zoneIds = new ArrayList<>();
+        for (int i = 0; i < config.zones(); i++) {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "name", "Load Test Zone " + (i + 1),
+                    "description", "Created by the load test at " + Instant.now()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(config.baseUrl() + "/api/zones"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("Could not create zone: " + response.statusCode() + " " + response.body());
+            }
+            JsonNode zone = objectMapper.readTree(response.body());
+            zoneIds.add(zone.path("id").asLong());
+        }
+        return zoneIds;
+    }
+
+    private void report(LoadTestConfig config, ObjectMapper objectMapper,
+                        List<LatencyRecorder.EndpointReport> endpoints, long dropped) throws IOException {
+        StringBuilder table = new StringBuilder(String.format("%n%-34s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "429", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (LatencyRecorder.EndpointReport endpoint : endpoints) {
+            table.append(String.format("%-34s %9d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.endpoint(), endpoint.successes(), endpoint.errors(), endpoint.rateLimited(),
+                    endpoint.throughputPerSecond(), endpoint.p50Ms(), endpoint.p99Ms(), endpoint.p999Ms(), endpoint.maxMs()));
+        }
+        table.append(String.format("dropped arrivals (max in-flight %d reached): %d%n", config.maxInFlight(), dropped));
+        log.info(table.toString());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("baseUrl", config.baseUrl());
+        report.put("ratePerSecond", config.rate());
+        report.put("durationSeconds", config.duration().toSeconds());
+        report.put("warmupSeconds", config.warmup().toSeconds());
+        report.put("gatewayLimits", config.gatewayLimits());
+        report.put("droppedArrivals", dropped);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(config.outputDir());
+        Path file = config.outputDir().resolve("report.json");
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.info("Report written to {}", file);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.barbooking.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MySQL, Redis and RabbitMQ in Testcontainers plus every service started from its boot jar
+ * on its usual port, since the services and gateway routes address each other on localhost.
+ */
+public class LocalStack implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalStack.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    // Started in dependency order: payment calls booking, the gateway goes last
+    private static final List<Service> SERVICES = List.of(
+            new Service("user-service", 8081, "user_db"),
+            new Service("table-service", 8082, "table_db"),
+            new Service("booking-service", 8083, "booking_db"),
+            new Service("checkin-service", 8084, "checkin_db"),
+            new Service("payment-service", 8085, "payment_db"),
+            new Service("api-gateway", 8080, null)
+    );
+
+    private final MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8.0"))
+            .withUsername("root")
+            .withPassword("root");
+    private final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+    private final RabbitMQContainer rabbitmq = new RabbitMQContainer(DockerImageName.parse("rabbitmq:3.13-management"));
+    private final Map<String, Process> processes = new LinkedHashMap<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Path logDir;
+    private final boolean gatewayLimits;
+
+    public LocalStack(Path outputDir) {
+        this(outputDir, false);
+    }
+
+    public LocalStack(Path outputDir, boolean gatewayLimits) {
+        this.logDir = outputDir.resolve("logs");
+        this.gatewayLimits = gatewayLimits;
+    }
+
+    public void start() throws IOException, InterruptedException {
+        startContainers();
+        for (Service service : SERVICES) {
+            startService(service.name(), List.of());
+        }
+    }
+
+    public void startContainers() throws IOException {
+        log.info("Starting MySQL, Redis and RabbitMQ containers");
+        mysql.start();
+        redis.start();
+        rabbitmq.start();
+        Files.createDirectories(logDir);
+    }
+
+    /**
+     * Start one service and wait until it reports healthy; {@code extraArgs} override its configuration.
+     */
+    public Process startService(String name, List<String> extraArgs) throws IOException, InterruptedException {
+        Service service = SERVICES.stream()
+                .filter(candidate -> candidate.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown service " + name));
+        log.info("Starting {} on port {} {}", service.name(), service.port(), extraArgs);
+        Process process = launch(service, extraArgs);
+        processes.put(name, process);
+        awaitHealthy(service);
+        return process;
+    }
+
+    public void stopService(String name) throws InterruptedException {
+        Process process = processes.remove(name);
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Process launch(Service service, List<String> extraArgs) throws IOException {
+        String jar = System.getProperty("loadtest.jar." + service.name());
+        if (jar == null) {
+            throw new IllegalStateException("No boot jar for " + service.name() + "; run through the loadTest Gradle task");
+        }
+
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"), "-jar", jar,
+                "--server.port=" + service.port(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379),
+                "--spring.rabbitmq.host=" + rabbitmq.getHost(),
+                "--spring.rabbitmq.port=" + rabbitmq.getAmqpPort(),
+                "--spring.rabbitmq.username=" + rabbitmq.getAdminUsername(),
+                "--spring.rabbitmq.password=" + rabbitmq.getAdminPassword(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.example.barbooking=INFO",
+                "--logging.level.org.springframework.cloud.gateway=INFO",
+                "--booking-service.url=http://localhost:8083"
+        ));
+        if (service.name().equals("api-gateway") && !gatewayLimits) {
+            // Every journey comes from this one IP; per-IP limits would reject most of them
+            command.add("--gateway.rate-limit.enabled=false");
+            command.add("--gateway.concurrency-limit.enabled=false");
+        }
+        if (service.database() != null) {
+            command.add("--spring.datasource.url=jdbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(3306) + "/"
+                    + service.database()
+                    + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true");
+            command.add("--spring.datasource.username=root");
+            command.add("--spring.datasource.password=root");
+        }
+        command.addAll(extraArgs);
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logDir.resolve(service.name() + ".log").toFile()))
+                .start();
+    }
+
+    private void awaitHealthy(Service service) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + service.port() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(service.name() + " did not become healthy, see " + logDir.resolve(service.name() + ".log"));
+    }
+
+    @Override
+    public void close() {
+        List.copyOf(processes.values()).reversed().forEach(process -> {
+            process.destroy();
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        rabbitmq.stop();
+        redis.stop();
+        mysql.stop();
+    }
+
+    private record Service(String name, int port, String database) {}
+}
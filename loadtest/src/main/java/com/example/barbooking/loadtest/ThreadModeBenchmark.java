@@ -0,0 +1,157 @@
+package com.example.barbooking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs booking-service once on platform threads and once on virtual threads and drives a JDBC-bound
+ * endpoint with an increasing number of concurrent clients. For each level it reports throughput,
+ * latency and errors, plus live threads, heap and process RSS sampled at the end of the level.
+ */
+public class ThreadModeBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeBenchmark.class);
+
+    private static final String SERVICE = "booking-service";
+    private static final String BASE_URL = "http://localhost:8083";
+    private static final String ENDPOINT = "GET /api/bookings/user/{id}/history";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        List<Integer> levels = parseLevels(System.getProperty("loadtest.concurrency", "50,200,800,1600"));
+        String poolSize = System.getProperty("loadtest.dbPoolSize", "20");
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (LocalStack stack = new LocalStack(config.outputDir())) {
+            stack.startContainers();
+            for (boolean virtual : new boolean[] {false, true}) {
+                String mode = virtual ? "virtual" : "platform";
+                Process process = stack.startService(SERVICE, List.of(
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.connection-timeout=5000",
+                        "--logging.level.com.example.barbooking=WARN"));
+                try {
+                    results.put(mode, runLevels(process, levels, config.duration()));
+                } finally {
+                    stack.stopService(SERVICE);
+                }
+            }
+        }
+
+        Files.createDirectories(config.outputDir());
+        Path file = config.outputDir().resolve("thread-mode-report.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), results);
+        log.info("Report written to {}", file);
+    }
+
+    private static List<LevelResult> runLevels(Process process, List<Integer> levels, Duration duration)
+            throws InterruptedException, IOException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        // Warm up the JIT and the connection pool before measuring
+        runLevel(httpClient, 50, Duration.ofSeconds(10));
+
+        List<LevelResult> results = new ArrayList<>();
+        for (int concurrency : levels) {
+            LatencyRecorder.EndpointReport report = runLevel(httpClient, concurrency, duration);
+            LevelResult result = new LevelResult(concurrency, report,
+                    metric(httpClient, "jvm.threads.live", null),
+                    metric(httpClient, "jvm.memory.used", "area:heap") / (1024 * 1024),
+                    residentSetMb(process));
+            log.info("{} clients: {}/s ok={} errors={} p50={}ms p99={}ms threads={} heap={}MB rss={}MB",
+                    concurrency, Math.round(report.throughputPerSecond()), report.successes(), report.errors(),
+                    report.p50Ms(), report.p99Ms(), result.liveThreads(), result.heapUsedMb(), result.rssMb());
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Closed model: each client sends its next request as soon as the previous one completes.
+     */
+    private static LatencyRecorder.EndpointReport runLevel(HttpClient httpClient, int concurrency, Duration duration)
+            throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long end = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < concurrency; client++) {
+                long userId = client + 1;
+                HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/bookings/user/" + userId + "/history"))
+                        .timeout(Duration.ofSeconds(30))
+                        .build();
+                clients.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        boolean success;
+                        try {
+                            success = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            success = false;
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                        recorder.record(ENDPOINT, System.nanoTime() - start, success);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+        return recorder.report(List.of(ENDPOINT), duration.toNanos() / 1e9).get(0);
+    }
+
+    private static long metric(HttpClient httpClient, String name, String tag) throws IOException, InterruptedException {
+        String url = "http://localhost:8083/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode measurements = new ObjectMapper().readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? -1 : measurements.get(0).path("value").asLong();
+    }
+
+    // Linux only; -1 elsewhere
+    private static long residentSetMb(Process process) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private static List<Integer> parseLevels(String levels) {
+        return Arrays.stream(levels.split(",")).map(String::trim).map(Integer::parseInt).toList();
+    }
+
+    private record LevelResult(
+            int concurrency,
+            LatencyRecorder.EndpointReport latency,
+            long liveThreads,
+            long heapUsedMb,
+            long rssMb
+    ) {}
+}
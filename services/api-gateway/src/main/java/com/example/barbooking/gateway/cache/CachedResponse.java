@@ -0,0 +1,34 @@
+package com.example.barbooking.gateway.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A downstream response as stored in {@link ResponseCache}. The ETag is derived from the body,
+ * so every gateway instance hands out the same tag for the same content.
+ */
+public record CachedResponse(
+        int status,
+        String contentType,
+        byte[] body,
+        String etag,
+        long generation
+) {
+
+    static CachedResponse of(int status, String contentType, byte[] body, long generation) {
+        return new CachedResponse(status, contentType, body, etag(status, body), generation);
+    }
+
+    private static String etag(int status, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Integer.toString(status).getBytes(StandardCharsets.US_ASCII));
+            byte[] hash = digest.digest(body);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
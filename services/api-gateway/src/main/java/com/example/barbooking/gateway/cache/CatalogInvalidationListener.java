@@ -0,0 +1,55 @@
+package com.example.barbooking.gateway.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Clears the response cache when table-service announces a zone or table change. Notifications
+ * sent while the subscription is down are lost, so the cache is also cleared on every reconnect.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogInvalidationListener {
+
+    // Published by table-service's RedisCatalogChangePublisher
+    public static final String CHANNEL = "catalog:changed";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ResponseCache responseCache;
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribe() {
+        // Deferred so that failing to connect is retried instead of stopping the gateway from starting
+        subscription = Flux.defer(() -> redisTemplate.listenToChannel(CHANNEL))
+                .doOnNext(message -> {
+                    log.debug("Catalog changed ({}), clearing cached responses", message.getMessage());
+                    responseCache.invalidateAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> {
+                            log.warn("Catalog change subscription lost: {}", signal.failure().getMessage());
+                            responseCache.invalidateAll();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.barbooking.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches GET responses by downstream URI. Caffeine provides the two properties that matter for
+ * a hot catalog: concurrent misses for one URI share a single downstream fetch, and once an
+ * entry is older than the fresh TTL it keeps being served while one background refresh runs
+ * (a failed refresh keeps the old entry). Entries fetched before the last
+ * {@link #invalidateAll()} are never served, even if their fetch finished afterwards.
+ * <p>
+ * Fetches go to the route's URI through the load balancer, not through the gateway filters, since
+ * a background refresh has no client request to ride on. 5xx responses are not cached.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    private final WebClient webClient;
+    private final ResponseCacheProperties properties;
+    private final AsyncLoadingCache<URI, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(@LoadBalanced WebClient.Builder webClientBuilder, ResponseCacheProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.webClient = webClientBuilder.clone()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.maxBodyBytes()))
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .refreshAfterWrite(properties.freshTtl())
+                .expireAfterWrite(properties.freshTtl().plus(properties.staleTtl()))
+                .recordStats()
+                .buildAsync((target, executor) -> fetch(target).toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+    }
+
+    /**
+     * The cached or freshly fetched response, tagged with how it was obtained. Errors when the
+     * downstream fails and nothing usable is cached.
+     */
+    public Mono<Lookup> lookup(URI target) {
+        CompletableFuture<CachedResponse> present = cache.getIfPresent(target);
+        Outcome outcome = Outcome.MISS;
+        if (present != null && present.isCompletedExceptionally()) {
+            // Caffeine drops failed loads on completion, but a caller may get here first
+            cache.asMap().remove(target, present);
+        } else if (present != null && present.isDone()) {
+            CachedResponse cached = present.join();
+            if (cached.generation() != generation.get()) {
+                cache.asMap().remove(target, present);
+            } else {
+                outcome = Outcome.HIT;
+            }
+        } else if (present != null) {
+            outcome = Outcome.COALESCED;
+        }
+
+        Outcome result = outcome;
+        // Other callers may be waiting on the same fetch, so one cancelled client must not cancel it
+        return Mono.fromFuture(cache.get(target), true)
+                .map(response -> new Lookup(response, result));
+    }
+
+    /**
+     * Drops everything, for when the catalog changed or change notifications may have been missed.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.synchronous().invalidateAll();
+    }
+
+    private Mono<CachedResponse> fetch(URI target) {
+        long fetchGeneration = generation.get();
+        return webClient.get()
+                .uri(target)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().is5xxServerError()) {
+                        return response.createError();
+                    }
+                    String contentType = response.headers().asHttpHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> CachedResponse.of(response.statusCode().value(), contentType, body,
+                                    fetchGeneration));
+                })
+                .timeout(properties.fetchTimeout())
+                .doOnError(e -> log.debug("Fetching {} for the response cache failed: {}", target, e.getMessage()));
+    }
+
+    public enum Outcome {
+        HIT,
+        COALESCED,
+        MISS
+    }
+
+    /**
+     * {@code outcome} is how the lookup found the cache; a HIT may still be a stale entry
+     * that is being refreshed.
+     */
+    public record Lookup(CachedResponse response, Outcome outcome) {}
+}
@@ -0,0 +1,31 @@
+package com.example.barbooking.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * {@code gateway.response-cache.*}. Responses of the listed routes are fresh for {@code freshTtl};
+ * after that they are served for up to {@code staleTtl} more while a refresh runs in the background.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        boolean enabled,
+        Set<String> routes,
+        Duration freshTtl,
+        Duration staleTtl,
+        long maxEntries,
+        int maxBodyBytes,
+        Duration fetchTimeout
+) {
+
+    public ResponseCacheProperties {
+        routes = routes == null ? Set.of() : Set.copyOf(routes);
+        freshTtl = freshTtl == null ? Duration.ofSeconds(30) : freshTtl;
+        staleTtl = staleTtl == null ? Duration.ofMinutes(5) : staleTtl;
+        maxEntries = maxEntries <= 0 ? 1000 : maxEntries;
+        maxBodyBytes = maxBodyBytes <= 0 ? 1024 * 1024 : maxBodyBytes;
+        fetchTimeout = fetchTimeout == null ? Duration.ofSeconds(3) : fetchTimeout;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.barbooking.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-style concurrency limit for one downstream route. The limit follows the ratio of
+ * the long-term RTT baseline to the recent RTT: while latency stays near the baseline it grows
+ * by about sqrt(limit) per sample, and once requests start queueing downstream (recent RTT above
+ * baseline * tolerance) it shrinks towards what the backend can actually serve. Failed or timed
+ * out requests cut it by 10%.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int LONG_WINDOW = 600;
+    private static final double SHORT_ALPHA = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+    }
+
+    public boolean tryAcquire(RequestPriority priority) {
+        int ceiling = Math.max(1, (int) (limit * priority.share()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= ceiling) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The request completed normally; {@code rttNanos} feeds the limit.
+     */
+    public void onSuccess(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightBefore);
+    }
+
+    /**
+     * The backend failed or timed out, a sign of overload.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * 0.9);
+        }
+    }
+
+    /**
+     * The request ended without telling anything about the backend, e.g. the client went away.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightBefore) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += (rtt - shortRtt) * SHORT_ALPHA;
+        longRtt += (rtt - longRtt) / LONG_WINDOW;
+
+        // After an overload the baseline lags behind; let it come back down quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Little traffic says nothing about how much more the backend can take
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.barbooking.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code gateway.concurrency-limit.*}. Priority rules map {@code "[METHOD] /path/pattern"} to a
+ * priority and are checked in order; requests matching none are NORMAL.
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double smoothing,
+        double rttTolerance,
+        Map<String, RequestPriority> priorities
+) {
+
+    public ConcurrencyLimitProperties {
+        minLimit = minLimit < 1 ? 1 : minLimit;
+        maxLimit = maxLimit < minLimit ? Math.max(minLimit, 1000) : maxLimit;
+        initialLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit < 1 ? 20 : initialLimit));
+        smoothing = smoothing <= 0 || smoothing > 1 ? 0.2 : smoothing;
+        rttTolerance = rttTolerance < 1 ? 1.5 : rttTolerance;
+        priorities = priorities == null ? Map.of() : new LinkedHashMap<>(priorities);
+    }
+}
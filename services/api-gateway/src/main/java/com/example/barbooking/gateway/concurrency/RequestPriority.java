@@ -0,0 +1,22 @@
+package com.example.barbooking.gateway.concurrency;
+
+/**
+ * How much of a route's concurrency limit a request may use. Lower priorities hit their
+ * ceiling first, so they are shed while higher ones still get through.
+ */
+public enum RequestPriority {
+    CRITICAL(1.0),
+    HIGH(0.9),
+    NORMAL(0.75),
+    LOW(0.5);
+
+    private final double share;
+
+    RequestPriority(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.barbooking.gateway.config;
 
+import com.example.barbooking.gateway.filter.JwtAuthenticationFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -9,37 +10,42 @@ import org.springframework.context.annotation.Configuration;
 public class GatewayConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, JwtAuthenticationFilter jwtAuthenticationFilter) {
         return builder.routes()
                 // User Service Routes
                 .route("user-service", r -> r
                         .path("/api/users/**")
-                        .uri("http://localhost:8081"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://user-service"))
                 
                 // Table Service Routes
                 .route("table-service-zones", r -> r
                         .path("/api/zones/**")
-                        .uri("http://localhost:8082"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://table-service"))
                 .route("table-service-tables", r -> r
                         .path("/api/tables/**")
-                        .uri("http://localhost:8082"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://table-service"))
                 
                 // Booking Service Routes
                 .route("booking-service", r -> r
                         .path("/api/bookings/**")
-                        .uri("http://localhost:8083"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://booking-service"))
                 
                 // Check-in Service Routes
                 .route("checkin-service", r -> r
                         .path("/api/checkin/**")
-                        .uri("http://localhost:8084"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://checkin-service"))
                 
                 // Payment Service Routes
                 .route("payment-service", r -> r
                         .path("/api/payments/**")
-                        .uri("http://localhost:8085"))
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri("lb://payment-service"))
                 
                 .build();
     }
 }
-
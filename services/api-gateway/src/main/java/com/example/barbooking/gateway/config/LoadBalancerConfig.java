@@ -0,0 +1,28 @@
+package com.example.barbooking.gateway.config;
+
+import com.example.barbooking.gateway.discovery.DiscoveryProperties;
+import com.example.barbooking.gateway.hedging.HedgingProperties;
+import com.example.barbooking.gateway.loadbalancer.LoadBalancerClientConfig;
+import com.example.barbooking.gateway.loadbalancer.LoadBalancingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties({DiscoveryProperties.class, LoadBalancingProperties.class, HedgingProperties.class})
+@LoadBalancerClients(defaultConfiguration = LoadBalancerClientConfig.class)
+public class LoadBalancerConfig {
+
+    /**
+     * For gateway components that call services themselves, resolving {@code lb://} URIs
+     * the same way the routes do.
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder() {
+        return WebClient.builder();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.barbooking.gateway.config;
+
+import com.example.barbooking.gateway.cache.ResponseCacheProperties;
+import com.example.barbooking.gateway.concurrency.ConcurrencyLimitProperties;
+import com.example.barbooking.gateway.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, ConcurrencyLimitProperties.class,
+        ResponseCacheProperties.class})
+public class RateLimitConfig {
+
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RedisScript<List<Long>> tokenBucketScript() {
+        return (RedisScript) RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.barbooking.gateway.discovery;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code gateway.discovery.*}: where the instances behind each {@code lb://} service id come from.
+ * <ul>
+ *   <li>{@code STATIC}: {@code services.<id>.instances} as listed here.</li>
+ *   <li>{@code DNS}: every address {@code services.<id>.dns-name} resolves to, on {@code port}.</li>
+ *   <li>{@code FILE}: a JSON file of {@code {"<id>": [{"uri": ..., "weight": ...}]}},
+ *       re-read whenever it changes.</li>
+ * </ul>
+ */
+@ConfigurationProperties(prefix = "gateway.discovery")
+public record DiscoveryProperties(
+        Source source,
+        long refreshIntervalMs,
+        String file,
+        Map<String, ServiceDefinition> services
+) {
+
+    public DiscoveryProperties {
+        source = source == null ? Source.STATIC : source;
+        refreshIntervalMs = refreshIntervalMs <= 0 ? 10_000 : refreshIntervalMs;
+        services = services == null ? Map.of() : Map.copyOf(services);
+    }
+
+    public enum Source {
+        STATIC,
+        DNS,
+        FILE
+    }
+
+    public record ServiceDefinition(
+            List<InstanceDefinition> instances,
+            String dnsName,
+            int port,
+            boolean secure,
+            int weight
+    ) {
+
+        public ServiceDefinition {
+            instances = instances == null ? List.of() : List.copyOf(instances);
+            weight = weight <= 0 ? 1 : weight;
+        }
+    }
+
+    public record InstanceDefinition(String uri, int weight) {
+
+        public InstanceDefinition {
+            if (uri == null || uri.isBlank()) {
+                throw new IllegalArgumentException("Instance uri is required");
+            }
+            weight = weight <= 0 ? 1 : weight;
+        }
+    }
+}
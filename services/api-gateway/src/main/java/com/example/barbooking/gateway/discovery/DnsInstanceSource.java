@@ -0,0 +1,47 @@
+package com.example.barbooking.gateway.discovery;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One instance per address that {@code gateway.discovery.services.<id>.dns-name} resolves to, as with
+ * Docker Compose replicas or a Kubernetes headless service. The JVM's DNS cache TTL
+ * ({@code networkaddress.cache.ttl}) bounds how quickly new replicas show up.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.discovery.source", havingValue = "dns")
+@RequiredArgsConstructor
+@Slf4j
+public class DnsInstanceSource implements InstanceSource {
+
+    private final DiscoveryProperties properties;
+
+    @Override
+    public Map<String, List<ServiceInstance>> load() throws UnknownHostException {
+        Map<String, List<ServiceInstance>> instances = new LinkedHashMap<>();
+        for (Map.Entry<String, DiscoveryProperties.ServiceDefinition> entry : properties.services().entrySet()) {
+            String serviceId = entry.getKey();
+            DiscoveryProperties.ServiceDefinition service = entry.getValue();
+            if (service.dnsName() == null || service.port() <= 0) {
+                throw new IllegalStateException("Service " + serviceId + " needs dns-name and port for DNS discovery");
+            }
+            InetAddress[] addresses = InetAddress.getAllByName(service.dnsName());
+            instances.put(serviceId, Arrays.stream(addresses)
+                    .map(InetAddress::getHostAddress)
+                    .distinct()
+                    .map(address -> Instances.of(serviceId, address, service.port(), service.secure(), service.weight()))
+                    .toList());
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.barbooking.gateway.discovery;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instances from the JSON file at {@code gateway.discovery.file}, for deployments where a script
+ * or config management writes the topology. The file is only parsed again when its modification
+ * time changes; a file that fails to parse leaves the previous instances in place.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.discovery.source", havingValue = "file")
+public class FileInstanceSource implements InstanceSource {
+
+    private static final TypeReference<Map<String, List<DiscoveryProperties.InstanceDefinition>>> FORMAT =
+            new TypeReference<>() {};
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private FileTime lastModified;
+    private Map<String, List<ServiceInstance>> current = Map.of();
+
+    public FileInstanceSource(DiscoveryProperties properties, ObjectMapper objectMapper) {
+        if (properties.file() == null || properties.file().isBlank()) {
+            throw new IllegalStateException("gateway.discovery.file is required for FILE discovery");
+        }
+        this.file = Path.of(properties.file());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized Map<String, List<ServiceInstance>> load() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        if (modified.equals(lastModified)) {
+            return current;
+        }
+        Map<String, List<DiscoveryProperties.InstanceDefinition>> definitions = objectMapper.readValue(file.toFile(), FORMAT);
+        Map<String, List<ServiceInstance>> instances = new LinkedHashMap<>();
+        definitions.forEach((serviceId, list) -> instances.put(serviceId, list.stream()
+                .map(definition -> Instances.of(serviceId, definition))
+                .toList()));
+        current = instances;
+        lastModified = modified;
+        return current;
+    }
+}
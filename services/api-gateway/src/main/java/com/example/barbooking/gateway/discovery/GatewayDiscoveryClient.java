@@ -0,0 +1,72 @@
+package com.example.barbooking.gateway.discovery;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves the {@code lb://} routes from a snapshot of the configured {@link InstanceSource}. The
+ * snapshot is refreshed on a scheduler thread, so DNS lookups and file reads never run on the
+ * event loop, and a failed refresh keeps the last known instances. Every change is published as a
+ * {@link ServiceInstancesChangedEvent}. The class is final because the constructor loads the first snapshot.
+ */
+@Component
+@Slf4j
+public final class GatewayDiscoveryClient implements ReactiveDiscoveryClient {
+
+    private final InstanceSource source;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<Map<String, List<ServiceInstance>>> snapshot = new AtomicReference<>(Map.of());
+
+    public GatewayDiscoveryClient(InstanceSource source, ApplicationEventPublisher eventPublisher) {
+        this.source = source;
+        this.eventPublisher = eventPublisher;
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.discovery.refresh-interval-ms:10000}")
+    public void refresh() {
+        try {
+            Map<String, List<ServiceInstance>> instances = Map.copyOf(source.load());
+            Map<String, List<ServiceInstance>> previous = snapshot.getAndSet(instances);
+            if (!instances.equals(previous)) {
+                log.info("Service instances: {}", describe(instances));
+                eventPublisher.publishEvent(new ServiceInstancesChangedEvent(instances));
+            }
+        } catch (Exception e) {
+            log.warn("Refreshing service instances from {} failed, keeping the previous ones: {}",
+                    source.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Gateway discovery (" + source.getClass().getSimpleName() + ")";
+    }
+
+    @Override
+    public Flux<ServiceInstance> getInstances(String serviceId) {
+        return Flux.fromIterable(snapshot.get().getOrDefault(serviceId, List.of()));
+    }
+
+    @Override
+    public Flux<String> getServices() {
+        return Flux.fromIterable(snapshot.get().keySet());
+    }
+
+    private static String describe(Map<String, List<ServiceInstance>> instances) {
+        StringBuilder description = new StringBuilder();
+        instances.forEach((serviceId, list) -> description.append(serviceId)
+                .append(list.stream().map(ServiceInstance::getInstanceId).toList())
+                .append(' '));
+        return description.toString().trim();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.barbooking.gateway.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One way of finding service instances. Called off the event loop by
+ * {@link GatewayDiscoveryClient}, so implementations may block.
+ */
+public interface InstanceSource {
+
+    /**
+     * All known instances by service id.
+     */
+    Map<String, List<ServiceInstance>> load() throws IOException;
+}
@@ -0,0 +1,42 @@
+package com.example.barbooking.gateway.discovery;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Builds {@link ServiceInstance}s with the metadata the load balancer reads.
+ */
+public final class Instances {
+
+    public static final String WEIGHT = "weight";
+
+    private Instances() {
+    }
+
+    public static ServiceInstance of(String serviceId, String host, int port, boolean secure, int weight) {
+        return new DefaultServiceInstance(host + ":" + port, serviceId, host, port, secure,
+                Map.of(WEIGHT, Integer.toString(weight)));
+    }
+
+    public static ServiceInstance of(String serviceId, DiscoveryProperties.InstanceDefinition definition) {
+        URI uri = URI.create(definition.uri());
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Instance uri " + definition.uri() + " of " + serviceId + " has no host");
+        }
+        return of(serviceId, uri.getHost(), port, secure, definition.weight());
+    }
+
+    public static int weight(ServiceInstance instance) {
+        String weight = instance.getMetadata().get(WEIGHT);
+        try {
+            return weight == null ? 1 : Math.max(1, Integer.parseInt(weight));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
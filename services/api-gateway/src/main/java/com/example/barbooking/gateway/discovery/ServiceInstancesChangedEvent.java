@@ -0,0 +1,11 @@
+package com.example.barbooking.gateway.discovery;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by {@link GatewayDiscoveryClient} whenever a refresh changes the instance snapshot.
+ */
+public record ServiceInstancesChangedEvent(Map<String, List<ServiceInstance>> instances) {}
@@ -0,0 +1,30 @@
+package com.example.barbooking.gateway.discovery;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instances listed in {@code gateway.discovery.services.<id>.instances}.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.discovery.source", havingValue = "static", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StaticInstanceSource implements InstanceSource {
+
+    private final DiscoveryProperties properties;
+
+    @Override
+    public Map<String, List<ServiceInstance>> load() {
+        Map<String, List<ServiceInstance>> instances = new LinkedHashMap<>();
+        properties.services().forEach((serviceId, service) -> instances.put(serviceId, service.instances().stream()
+                .map(definition -> Instances.of(serviceId, definition))
+                .toList()));
+        return instances;
+    }
+}
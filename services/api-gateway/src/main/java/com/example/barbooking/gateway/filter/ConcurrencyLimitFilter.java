@@ -0,0 +1,131 @@
+package com.example.barbooking.gateway.filter;
+
+import com.example.barbooking.gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.example.barbooking.gateway.concurrency.ConcurrencyLimitProperties;
+import com.example.barbooking.gateway.concurrency.RequestPriority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sheds load before it reaches a struggling backend: each route has an adaptive concurrency
+ * limit, and requests over their priority's share of it get an immediate 503 instead of
+ * queueing until they time out. Runs after rate limiting and after the route's authentication
+ * filter, so throttled or unauthenticated clients do not take slots. Only requests that were
+ * actually sent downstream feed the limit; responses the gateway produced itself say nothing
+ * about the backend's latency.
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitFilter implements GlobalFilter, Ordered {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<PriorityRule> rules = new ArrayList<>();
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.priorities().forEach((rule, priority) -> rules.add(PriorityRule.parse(rule, priority)));
+    }
+
+    // Route filters added with GatewayFilterSpec.filter() (JwtAuthenticationFilter) run at order 0
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(route.getId(), this::newLimiter);
+        RequestPriority priority = priorityOf(exchange);
+        if (!limiter.tryAcquire(priority)) {
+            meterRegistry.counter("gateway.concurrency.rejected", "route", route.getId(),
+                    "priority", priority.name()).increment();
+            log.debug("Shed {} request to {} at {}/{} in flight", priority, route.getId(),
+                    limiter.getInFlight(), limiter.getLimit());
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return exchange.getResponse().setComplete();
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (signal == SignalType.CANCEL || !ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+                        limiter.onIgnored();
+                    } else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                        limiter.onDropped();
+                    } else {
+                        limiter.onSuccess(System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private RequestPriority priorityOf(ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (PriorityRule rule : rules) {
+            if (rule.matches(method, path)) {
+                return rule.priority();
+            }
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(String routeId) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties.initialLimit(),
+                properties.minLimit(), properties.maxLimit(), properties.smoothing(), properties.rttTolerance());
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently forwarded to the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private record PriorityRule(HttpMethod method, PathPattern pattern, RequestPriority priority) {
+
+        static PriorityRule parse(String rule, RequestPriority priority) {
+            String[] parts = rule.trim().split("\\s+", 2);
+            HttpMethod method = parts.length == 2 ? HttpMethod.valueOf(parts[0].toUpperCase()) : null;
+            String pattern = parts.length == 2 ? parts[1] : parts[0];
+            return new PriorityRule(method, PathPatternParser.defaultInstance.parse(pattern), priority);
+        }
+
+        boolean matches(HttpMethod requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
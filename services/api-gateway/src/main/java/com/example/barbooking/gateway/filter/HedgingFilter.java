@@ -0,0 +1,224 @@
+package com.example.barbooking.gateway.filter;
+
+import com.example.barbooking.gateway.hedging.HedgingProperties;
+import com.example.barbooking.gateway.hedging.RouteHedging;
+import com.example.barbooking.gateway.loadbalancer.ExcludedInstances;
+import com.example.barbooking.gateway.loadbalancer.InstanceStatsRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hedges idempotent GETs on the configured paths. The request goes to the instance the load
+ * balancer picks; if no response has arrived after the route's hedge delay (its recent p95 by
+ * default), or the first instance fails with 502/503/504 or no response, a second request goes
+ * to another instance and whichever usable response arrives first is returned, cancelling the
+ * other. Every extra request spends a token from the route's {@code RetryBudget}, so hedging
+ * stops adding load once a service is slow across the board.
+ * <p>
+ * Hedged requests are forwarded here instead of by the Netty routing filter, with the same
+ * header filtering, and responses are buffered (up to {@code max-body-bytes}) so the race can
+ * be decided before anything is written to the client.
+ */
+@Component
+@Slf4j
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private final HedgingProperties properties;
+    private final LoadBalancerClientFactory clientFactory;
+    private final InstanceStatsRegistry stats;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final Map<String, RouteHedging> routes = new HashMap<>();
+
+    public HedgingFilter(HedgingProperties properties, LoadBalancerClientFactory clientFactory,
+                         InstanceStatsRegistry stats, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientFactory = clientFactory;
+        this.stats = stats;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = WebClient.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.maxBodyBytes()))
+                .build();
+        properties.routes().forEach((routeId, paths) ->
+                routes.put(routeId, new RouteHedging(routeId, paths, properties, meterRegistry)));
+    }
+
+    // Takes over from the load balancer filter, after the request URL has been resolved to lb://service
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        RouteHedging hedging = route == null ? null : routes.get(route.getId());
+        if (!properties.enabled() || hedging == null || url == null || !"lb".equals(url.getScheme())
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !hedging.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        hedging.budget().onRequest();
+        String serviceId = url.getHost();
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+        headers.remove(HttpHeaders.HOST);
+        Request request = new Request(route.getId(), serviceId, url, headers, hedging);
+
+        return choose(serviceId, Set.of())
+                .switchIfEmpty(Mono.error(() -> NotFoundException.create(true, "Unable to find instance for " + serviceId)))
+                .flatMap(primary -> race(request, primary))
+                .flatMap(attempt -> write(exchange, attempt));
+    }
+
+    private Mono<Attempt> race(Request request, ServiceInstance primary) {
+        Sinks.Empty<Void> primaryFailed = Sinks.empty();
+        Mono<Attempt> first = send(request, primary)
+                .doOnNext(attempt -> {
+                    if (attempt.retryable()) {
+                        primaryFailed.tryEmitEmpty();
+                    }
+                });
+        Mono<Attempt> second = Mono.firstWithSignal(
+                        Mono.delay(request.hedging().delay()).thenReturn("delay"),
+                        primaryFailed.asMono().thenReturn("failure"))
+                .flatMap(reason -> choose(request.serviceId(), Set.of(primary.getInstanceId()))
+                        .filter(other -> withdraw(request))
+                        .flatMap(other -> {
+                            meterRegistry.counter("gateway.hedging.attempts", "route", request.routeId(),
+                                    "reason", reason).increment();
+                            return send(request, other);
+                        }));
+
+        // First usable response wins; if none is usable the last failure is returned
+        return Flux.merge(first, second)
+                .takeUntil(attempt -> !attempt.retryable())
+                .last()
+                .doOnNext(attempt -> meterRegistry.counter("gateway.hedging.responses", "route", request.routeId(),
+                        "winner", attempt.instance() == primary ? "primary" : "hedge").increment());
+    }
+
+    private boolean withdraw(Request request) {
+        if (request.hedging().budget().tryWithdraw()) {
+            return true;
+        }
+        meterRegistry.counter("gateway.hedging.budget.exhausted", "route", request.routeId()).increment();
+        return false;
+    }
+
+    private Mono<ServiceInstance> choose(String serviceId, Set<String> excluded) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = clientFactory.getInstance(serviceId);
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        return Mono.from(loadBalancer.choose(new DefaultRequest<>(new ExcludedInstances(excluded))))
+                .filter(Response::hasServer)
+                .map(Response::getServer);
+    }
+
+    private Mono<Attempt> send(Request request, ServiceInstance instance) {
+        URI target = UriComponentsBuilder.fromUri(request.url())
+                .scheme(instance.isSecure() ? "https" : "http")
+                .host(instance.getHost())
+                .port(instance.getPort())
+                .build(true)
+                .toUri();
+        return Mono.defer(() -> {
+            stats.onStart(instance);
+            long start = System.nanoTime();
+            return webClient.get()
+                    .uri(target)
+                    .headers(headers -> headers.addAll(request.headers()))
+                    .exchangeToMono(response -> response.toEntity(byte[].class))
+                    .timeout(properties.requestTimeout())
+                    .map(response -> new Attempt(instance, response, null))
+                    .onErrorResume(e -> Mono.just(new Attempt(instance, null, e)))
+                    .doOnNext(attempt -> {
+                        long elapsed = System.nanoTime() - start;
+                        stats.onComplete(instance, attempt.failed(), elapsed);
+                        if (!attempt.failed()) {
+                            request.hedging().recordLatency(elapsed);
+                        }
+                    })
+                    .doOnCancel(() -> stats.onComplete(instance, false, -1));
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        if (attempt.error() != null) {
+            if (attempt.error() instanceof TimeoutException) {
+                return Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, attempt.error().getMessage(),
+                        attempt.error()));
+            }
+            return Mono.error(attempt.error());
+        }
+
+        ResponseEntity<byte[]> upstream = attempt.response();
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.getHeaders(),
+                exchange, HttpHeadersFilter.Type.RESPONSE));
+        response.setStatusCode(upstream.getStatusCode());
+        byte[] body = upstream.getBody() == null ? new byte[0] : upstream.getBody();
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private record Request(String routeId, String serviceId, URI url, HttpHeaders headers, RouteHedging hedging) {}
+
+    private record Attempt(ServiceInstance instance, ResponseEntity<byte[]> response, Throwable error) {
+
+        boolean failed() {
+            return error != null || response.getStatusCode().is5xxServerError();
+        }
+
+        // Statuses that say the instance, not the request, is the problem
+        boolean retryable() {
+            if (error != null) {
+                return true;
+            }
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.barbooking.gateway.filter;
+
+import com.example.barbooking.gateway.loadbalancer.InstanceStatsRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Reports each forwarded request to {@link InstanceStatsRegistry} once the load balancer has
+ * picked an instance. Done here rather than through LoadBalancer lifecycle callbacks because
+ * those are not invoked when the client cancels, which would leak outstanding counts.
+ */
+@Component
+@RequiredArgsConstructor
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry stats;
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance instance = chosen.getServer();
+        stats.onStart(instance);
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        stats.onComplete(instance, false, -1);
+                        return;
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                    stats.onComplete(instance, failed, System.nanoTime() - start);
+                });
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.barbooking.gateway.filter;
 
+import com.example.barbooking.gateway.security.IdentitySigner;
 import com.example.barbooking.gateway.security.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.http.HttpHeaders;
@@ -11,12 +13,27 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Verifies the bearer token and forwards the caller's identity as signed
+ * {@code X-User-Id}/{@code X-User-Role} headers, so services never parse the JWT themselves.
+ * Identity headers sent by the client are always removed first.
+ */
 @Component
 public class JwtAuthenticationFilter implements GatewayFilter {
 
+    private static final List<String> IDENTITY_HEADERS = List.of(
+            IdentitySigner.USER_ID_HEADER,
+            IdentitySigner.USER_ROLE_HEADER,
+            IdentitySigner.TIMESTAMP_HEADER,
+            IdentitySigner.SIGNATURE_HEADER
+    );
+
     private final JwtUtil jwtUtil;
+    private final IdentitySigner identitySigner;
 
     // List of paths that should skip JWT validation
     private final List<String> skipPaths = List.of(
@@ -27,21 +44,24 @@ public class JwtAuthenticationFilter implements GatewayFilter {
             "/api/tables"   // Allow fetching all tables
     );
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, IdentitySigner identitySigner) {
         this.jwtUtil = jwtUtil;
+        this.identitySigner = identitySigner;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
+        Optional<Claims> claims = bearerToken(request).flatMap(jwtUtil::verify);
 
         // Skip validation for public endpoints
         // Check exact matches or prefix matches for dynamic routes
         if (skipPaths.stream().anyMatch(path::equals) || 
             path.startsWith("/api/zones/") || 
             path.startsWith("/api/tables/")) {
-            return chain.filter(exchange);
+            // Identity is still forwarded when a valid token comes along
+            return chain.filter(withIdentity(exchange, claims.orElse(null)));
         }
 
         if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
@@ -53,12 +73,41 @@ public class JwtAuthenticationFilter implements GatewayFilter {
             return onError(exchange, "Invalid Authorization header", HttpStatus.UNAUTHORIZED);
         }
 
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
+        if (claims.isEmpty()) {
             return onError(exchange, "Invalid JWT token", HttpStatus.UNAUTHORIZED);
         }
 
-        return chain.filter(exchange);
+        return chain.filter(withIdentity(exchange, claims.get()));
+    }
+
+    private Optional<String> bearerToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return Optional.of(authHeader.substring(7));
+    }
+
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, Claims claims) {
+        Long userId = claims == null ? null : claims.get("userId", Long.class);
+        String role = claims == null ? null : claims.get("role", String.class);
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    IDENTITY_HEADERS.forEach(headers::remove);
+                    // Tokens without a user id (e.g. service tokens) carry no identity to forward
+                    if (userId != null) {
+                        long now = Instant.now().getEpochSecond();
+                        headers.set(IdentitySigner.USER_ID_HEADER, userId.toString());
+                        if (role != null) {
+                            headers.set(IdentitySigner.USER_ROLE_HEADER, role);
+                        }
+                        headers.set(IdentitySigner.TIMESTAMP_HEADER, Long.toString(now));
+                        headers.set(IdentitySigner.SIGNATURE_HEADER, identitySigner.sign(userId, role, now));
+                    }
+                })
+                .build();
+        return exchange.mutate().request(request).build();
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String err, HttpStatus httpStatus) {
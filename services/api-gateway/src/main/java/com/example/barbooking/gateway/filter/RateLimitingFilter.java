@@ -1,62 +1,101 @@
 package com.example.barbooking.gateway.filter;
 
+import com.example.barbooking.gateway.ratelimit.FailoverRateLimiter;
+import com.example.barbooking.gateway.ratelimit.RateLimitDecision;
+import com.example.barbooking.gateway.ratelimit.RateLimitProperties;
+import com.example.barbooking.gateway.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
-import org.springframework.web.server.WebFilter;
-import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.Optional;
 
+/**
+ * Applies the rate limit policy of the matched route. Runs as a global filter, after routing
+ * and before the route's own filters, so the policy can depend on the route and on the caller.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class RateLimitingFilter implements WebFilter {
+public class RateLimitingFilter implements GlobalFilter, Ordered {
 
-    private final ReactiveStringRedisTemplate redisTemplate;
-    
-    private static final int MAX_REQUESTS_PER_MINUTE = 60;
     private static final String RATE_LIMIT_KEY_PREFIX = "rate_limit:";
 
+    private final FailoverRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+
     @Override
-    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String clientIp = exchange.getRequest().getRemoteAddress() != null 
-                ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
-                : "unknown";
-        
-        String key = RATE_LIMIT_KEY_PREFIX + clientIp;
-
-        return redisTemplate.opsForValue()
-                .increment(key)
-                .flatMap(count -> {
-                    if (count == 1) {
-                        // Set expiry on first request
-                        return redisTemplate.expire(key, Duration.ofMinutes(1))
-                                .flatMap(success -> processRequest(exchange, chain, count));
-                    } else {
-                        return processRequest(exchange, chain, count);
-                    }
-                })
-                .onErrorResume(e -> {
-                    log.error("Rate limiting error: {}", e.getMessage());
-                    // If Redis is down, allow the request
-                    return chain.filter(exchange);
-                });
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route == null ? "default" : route.getId();
+        RateLimitProperties.Policy policy = properties.policyFor(routeId);
+        if (!properties.enabled() || policy == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = RATE_LIMIT_KEY_PREFIX + routeId + ":" + subject(exchange, policy);
+        // Falls back to local limits when Redis is down, requests are never let through unchecked
+        return rateLimiter.tryAcquire(key, policy)
+                .flatMap(decision -> processRequest(exchange, chain, routeId, decision));
     }
 
-    private Mono<Void> processRequest(ServerWebExchange exchange, WebFilterChain chain, Long count) {
-        if (count > MAX_REQUESTS_PER_MINUTE) {
-            log.warn("Rate limit exceeded for IP: {}", 
-                    exchange.getRequest().getRemoteAddress());
+    private Mono<Void> processRequest(ServerWebExchange exchange, GatewayFilterChain chain,
+                                      String routeId, RateLimitDecision decision) {
+        meterRegistry.counter("gateway.ratelimit.requests", "route", routeId,
+                "outcome", decision.allowed() ? "allowed" : "limited").increment();
+        if (!decision.allowed()) {
+            log.warn("Rate limit exceeded on {} for {}", routeId, exchange.getRequest().getRemoteAddress());
             exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, (decision.retryAfterMs() + 999) / 1000)));
             return exchange.getResponse().setComplete();
         }
-        
+        if (decision.remaining() >= 0) {
+            exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", Long.toString(decision.remaining()));
+        }
         return chain.filter(exchange);
     }
-}
 
+    private String subject(ServerWebExchange exchange, RateLimitProperties.Policy policy) {
+        if (policy.limitBy() == RateLimitProperties.LimitBy.USER) {
+            Optional<Long> userId = bearerToken(exchange)
+                    .flatMap(jwtUtil::verify)
+                    .map(claims -> claims.get("userId", Long.class));
+            if (userId.isPresent()) {
+                return "user:" + userId.get();
+            }
+        }
+        return "ip:" + clientIp(exchange);
+    }
+
+    private static Optional<String> bearerToken(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return Optional.of(authHeader.substring(7));
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        return exchange.getRequest().getRemoteAddress() != null
+                ? exchange.getRequest().getRemoteAddress().getAddress().getHostAddress()
+                : "unknown";
+    }
+}
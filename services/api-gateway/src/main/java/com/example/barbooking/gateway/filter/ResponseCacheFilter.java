@@ -0,0 +1,113 @@
+package com.example.barbooking.gateway.filter;
+
+import com.example.barbooking.gateway.cache.CachedResponse;
+import com.example.barbooking.gateway.cache.ResponseCache;
+import com.example.barbooking.gateway.cache.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves GETs on the cached routes (the public zone and table catalog) from {@link ResponseCache}.
+ * Responses carry an ETag and {@code Cache-Control: no-cache}, so browsers keep them but
+ * revalidate with {@code If-None-Match} and usually get an empty 304. Runs after rate limiting
+ * and before the concurrency limit, so cache hits never take a downstream slot. When the
+ * downstream fails and nothing is cached, the request is passed through as usual.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 150;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.enabled() || route == null || !properties.routes().contains(route.getId())
+                || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        // The load-balanced WebClient resolves the host as a service id but keeps the scheme
+        String scheme = "lb".equals(route.getUri().getScheme()) ? "http" : route.getUri().getScheme();
+        URI target = UriComponentsBuilder.fromUri(route.getUri())
+                .scheme(scheme)
+                .replacePath(exchange.getRequest().getURI().getRawPath())
+                .replaceQuery(exchange.getRequest().getURI().getRawQuery())
+                .build(true)
+                .toUri();
+        return responseCache.lookup(target)
+                .map(Optional::of)
+                .onErrorResume(e -> Mono.just(Optional.empty()))
+                .flatMap(lookup -> {
+                    if (lookup.isEmpty()) {
+                        count(route, "bypass");
+                        return chain.filter(exchange);
+                    }
+                    return write(exchange, route, lookup.get());
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Route route, ResponseCache.Lookup lookup) {
+        CachedResponse cached = lookup.response();
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.setCacheControl("no-cache");
+        headers.set(CACHE_HEADER, lookup.outcome().name());
+
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            count(route, "not_modified");
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        count(route, lookup.outcome().name().toLowerCase());
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        if (cached.contentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void count(Route route, String outcome) {
+        meterRegistry.counter("gateway.response-cache.requests", "route", route.getId(), "outcome", outcome).increment();
+    }
+}
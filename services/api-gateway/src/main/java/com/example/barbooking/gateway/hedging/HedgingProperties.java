@@ -0,0 +1,60 @@
+package com.example.barbooking.gateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code gateway.hedging.*}. Only GETs on the listed path patterns of each route are hedged; they
+ * must be idempotent, since both the original and the hedged request reach a service.
+ *
+ * @param routes         path patterns by gateway route id
+ * @param percentile     hedge once a request is slower than this share of recent requests on the route
+ * @param minDelay       lower bound for the hedge delay, so a fast route is not hedged on noise
+ * @param maxDelay       upper bound for the hedge delay
+ * @param initialDelay   used until {@code minSamples} responses have been seen
+ * @param requestTimeout per attempt
+ * @param budget         caps hedges and retries relative to normal traffic
+ */
+@ConfigurationProperties(prefix = "gateway.hedging")
+public record HedgingProperties(
+        boolean enabled,
+        Map<String, List<String>> routes,
+        double percentile,
+        Duration minDelay,
+        Duration maxDelay,
+        Duration initialDelay,
+        long minSamples,
+        Duration requestTimeout,
+        int maxBodyBytes,
+        Budget budget
+) {
+
+    public HedgingProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+        percentile = percentile <= 0 || percentile >= 1 ? 0.95 : percentile;
+        minDelay = minDelay == null ? Duration.ofMillis(20) : minDelay;
+        maxDelay = maxDelay == null ? Duration.ofSeconds(2) : maxDelay;
+        initialDelay = initialDelay == null ? Duration.ofMillis(250) : initialDelay;
+        minSamples = minSamples <= 0 ? 100 : minSamples;
+        requestTimeout = requestTimeout == null ? Duration.ofSeconds(10) : requestTimeout;
+        maxBodyBytes = maxBodyBytes <= 0 ? 1024 * 1024 : maxBodyBytes;
+        budget = budget == null ? new Budget(0, 0, 0) : budget;
+    }
+
+    /**
+     * @param ratio        tokens earned per hedgeable request; 0.1 allows one extra request per ten
+     * @param minPerSecond tokens earned per second regardless of traffic, so quiet routes can still hedge
+     * @param maxTokens    cap on saved-up tokens, which bounds a burst of extra requests
+     */
+    public record Budget(double ratio, double minPerSecond, double maxTokens) {
+
+        public Budget {
+            ratio = ratio <= 0 ? 0.1 : ratio;
+            minPerSecond = minPerSecond < 0 ? 0 : minPerSecond;
+            maxTokens = maxTokens < 1 ? 20 : maxTokens;
+        }
+    }
+}
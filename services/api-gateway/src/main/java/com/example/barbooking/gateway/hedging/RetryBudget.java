@@ -0,0 +1,50 @@
+package com.example.barbooking.gateway.hedging;
+
+/**
+ * Token bucket that bounds hedges and retries: every original request deposits {@code ratio}
+ * tokens, time deposits {@code minPerSecond}, and each extra request spends a whole token. Extra
+ * load therefore stays a fixed fraction of real load, and an overloaded service that makes every
+ * request slow or fail gets at most that fraction on top instead of double the traffic.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double maxTokens;
+
+    // Guarded by this
+    private double tokens;
+    private long refilledAt;
+
+    public RetryBudget(HedgingProperties.Budget budget) {
+        this.ratio = budget.ratio();
+        this.minPerSecond = budget.minPerSecond();
+        this.maxTokens = budget.maxTokens();
+        this.refilledAt = System.nanoTime();
+    }
+
+    public synchronized void onRequest() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double available() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - refilledAt) / 1e9 * minPerSecond);
+        refilledAt = now;
+    }
+}
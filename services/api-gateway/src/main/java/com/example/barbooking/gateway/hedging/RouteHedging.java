@@ -0,0 +1,85 @@
+package com.example.barbooking.gateway.hedging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedging state of one route: which paths qualify, its retry budget and the hedge delay, which
+ * tracks the configured latency percentile of the route's recent successful responses. The
+ * percentile comes from a one-minute sliding histogram and is recomputed at most once a second.
+ */
+public class RouteHedging {
+
+    private static final long RECOMPUTE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<PathPattern> paths;
+    private final RetryBudget budget;
+    private final Timer latency;
+    private final HedgingProperties properties;
+
+    private volatile long delayNanos;
+    private volatile long computedAt;
+
+    public RouteHedging(String routeId, List<String> paths, HedgingProperties properties, MeterRegistry meterRegistry) {
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.budget = new RetryBudget(properties.budget());
+        this.properties = properties;
+        this.latency = Timer.builder("gateway.hedging.latency")
+                .description("Latency of successful hedgeable requests, drives the hedge delay")
+                .tag("route", routeId)
+                .publishPercentiles(properties.percentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        this.delayNanos = properties.initialDelay().toNanos();
+        this.computedAt = System.nanoTime();
+        Gauge.builder("gateway.hedging.budget.tokens", budget, RetryBudget::available)
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    public boolean matches(PathContainer path) {
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public RetryBudget budget() {
+        return budget;
+    }
+
+    public void recordLatency(long nanos) {
+        latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Duration delay() {
+        long now = System.nanoTime();
+        if (now - computedAt > RECOMPUTE_INTERVAL_NANOS) {
+            computedAt = now;
+            delayNanos = computeDelay();
+        }
+        return Duration.ofNanos(delayNanos);
+    }
+
+    private long computeDelay() {
+        if (latency.count() < properties.minSamples()) {
+            return properties.initialDelay().toNanos();
+        }
+        double observed = properties.initialDelay().toNanos();
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            observed = value.value(TimeUnit.NANOSECONDS);
+        }
+        return Math.max(properties.minDelay().toNanos(), Math.min(properties.maxDelay().toNanos(), (long) observed));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import java.util.Set;
+
+/**
+ * Load balancer request context asking for an instance other than the given ones, e.g. for a
+ * hedged request that should not land on the instance that is already slow.
+ */
+public record ExcludedInstances(Set<String> instanceIds) {
+}
@@ -0,0 +1,147 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import com.example.barbooking.gateway.discovery.ServiceInstancesChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Outstanding requests, latency and ejection state per service instance, shared by the load
+ * balancers of all services. Fed by {@code InstanceStatsFilter} after each forwarded request.
+ * Instances that leave discovery are dropped together with their meters.
+ */
+@Component
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final LoadBalancingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStatsRegistry(LoadBalancingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats(instance));
+    }
+
+    @EventListener
+    public void onInstancesChanged(ServiceInstancesChangedEvent event) {
+        Set<String> current = event.instances().values().stream()
+                .flatMap(List::stream)
+                .map(InstanceStatsRegistry::key)
+                .collect(Collectors.toSet());
+        stats.entrySet().removeIf(entry -> {
+            if (current.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters.forEach(meterRegistry::remove);
+            log.info("Dropped stats of {}, no longer discovered", entry.getKey());
+            return true;
+        });
+    }
+
+    public void onStart(ServiceInstance instance) {
+        get(instance).outstanding.incrementAndGet();
+    }
+
+    /**
+     * @param failed        5xx or no response at all
+     * @param latencyNanos  negative when the request was cancelled and says nothing about the instance
+     */
+    public void onComplete(ServiceInstance instance, boolean failed, long latencyNanos) {
+        InstanceStats instanceStats = stats.get(key(instance));
+        if (instanceStats == null) {
+            return; // Dropped from discovery while the request was in flight
+        }
+        instanceStats.outstanding.decrementAndGet();
+        if (latencyNanos < 0) {
+            return;
+        }
+        (failed ? instanceStats.failureTimer : instanceStats.successTimer).record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (!failed) {
+            instanceStats.consecutiveFailures.set(0);
+            instanceStats.ejections.set(0);
+        } else if (instanceStats.consecutiveFailures.incrementAndGet() >= properties.consecutiveFailures()) {
+            instanceStats.eject();
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + '/' + instance.getInstanceId();
+    }
+
+    public final class InstanceStats {
+
+        private final ServiceInstance instance;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Counter ejectionCounter;
+        private final List<Meter> meters;
+        private volatile long ejectedUntil;
+
+        private InstanceStats(ServiceInstance instance) {
+            this.instance = instance;
+            Tags tags = Tags.of("service", instance.getServiceId(), "instance", instance.getInstanceId());
+            this.successTimer = latencyTimer(tags.and("outcome", "success"));
+            this.failureTimer = latencyTimer(tags.and("outcome", "failure"));
+            this.ejectionCounter = meterRegistry.counter("gateway.lb.instance.ejections", tags);
+            Gauge outstandingGauge = Gauge.builder("gateway.lb.instance.outstanding", outstanding, AtomicInteger::get)
+                    .description("Requests forwarded to the instance and not yet completed")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge ejectedGauge = Gauge.builder("gateway.lb.instance.ejected", this, stats -> stats.isEjected() ? 1 : 0)
+                    .tags(tags)
+                    .register(meterRegistry);
+            this.meters = List.of(successTimer, failureTimer, ejectionCounter, outstandingGauge, ejectedGauge);
+        }
+
+        public int outstanding() {
+            return outstanding.get();
+        }
+
+        public boolean isEjected() {
+            return System.currentTimeMillis() < ejectedUntil;
+        }
+
+        private synchronized void eject() {
+            if (isEjected()) {
+                return;
+            }
+            long duration = Math.min(properties.baseEjectionMs() * ejections.incrementAndGet(), properties.maxEjectionMs());
+            ejectedUntil = System.currentTimeMillis() + duration;
+            consecutiveFailures.set(0);
+            ejectionCounter.increment();
+            log.warn("Ejecting {} {} for {} ms after {} consecutive failures", instance.getServiceId(),
+                    instance.getInstanceId(), duration, properties.consecutiveFailures());
+        }
+
+        private Timer latencyTimer(Tags tags) {
+            return Timer.builder("gateway.lb.instance.latency")
+                    .description("Time until the instance's response completed")
+                    .tags(tags)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer configuration, instantiated by Spring Cloud LoadBalancer in each
+ * service's child context. Deliberately not a {@code @Configuration}, so component scanning does
+ * not register these beans in the main context.
+ */
+public class LoadBalancerClientConfig {
+
+    // No caching supplier: GatewayDiscoveryClient already serves a refreshed in-memory snapshot
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory clientFactory,
+            InstanceStatsRegistry stats,
+            LoadBalancingProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new WeightedLeastOutstandingLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, stats, properties.maxEjectionPercent());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * {@code gateway.load-balancing.*}: passive health ejection. An instance that fails
+ * {@code consecutiveFailures} requests in a row (5xx or no response) is taken out of rotation for
+ * {@code baseEjectionMs} times the number of ejections in a row, capped at {@code maxEjectionMs}.
+ * Once more than {@code maxEjectionPercent} of a service's instances are ejected, ejection is
+ * ignored for that service, so a shared problem does not push all traffic onto one instance.
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancing")
+public record LoadBalancingProperties(
+        int consecutiveFailures,
+        long baseEjectionMs,
+        long maxEjectionMs,
+        int maxEjectionPercent
+) {
+
+    public LoadBalancingProperties {
+        consecutiveFailures = consecutiveFailures <= 0 ? 5 : consecutiveFailures;
+        baseEjectionMs = baseEjectionMs <= 0 ? 30_000 : baseEjectionMs;
+        maxEjectionMs = Math.max(baseEjectionMs, maxEjectionMs);
+        maxEjectionPercent = maxEjectionPercent <= 0 || maxEjectionPercent > 100 ? 50 : maxEjectionPercent;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import com.example.barbooking.gateway.discovery.Instances;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two random instances that are not ejected and sends the request to the one with fewer
+ * outstanding requests per unit of weight. Comparing two random picks instead of scanning for
+ * the global minimum keeps several gateways from all piling onto the same idle instance.
+ * Instances named in an {@link ExcludedInstances} request context are never picked.
+ */
+@Slf4j
+public class WeightedLeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry stats;
+    private final int maxEjectionPercent;
+
+    public WeightedLeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                                String serviceId, InstanceStatsRegistry stats, int maxEjectionPercent) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+        this.maxEjectionPercent = maxEjectionPercent;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes") // ReactiveLoadBalancer declares choose(Request) with a raw type
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> choose(excluding(instances, request)));
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No instances available for {}", serviceId);
+            return new EmptyResponse();
+        }
+        List<ServiceInstance> candidates = candidates(instances);
+        if (candidates.size() == 1) {
+            return new DefaultResponse(candidates.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return new DefaultResponse(load(a) <= load(b) ? a : b);
+    }
+
+    private static List<ServiceInstance> excluding(List<ServiceInstance> instances, Request<?> request) {
+        if (request == null || !(request.getContext() instanceof ExcludedInstances excluded)) {
+            return instances;
+        }
+        return instances.stream()
+                .filter(instance -> !excluded.instanceIds().contains(instance.getInstanceId()))
+                .toList();
+    }
+
+    private List<ServiceInstance> candidates(List<ServiceInstance> instances) {
+        List<ServiceInstance> healthy = instances.stream()
+                .filter(instance -> !stats.get(instance).isEjected())
+                .toList();
+        int ejected = instances.size() - healthy.size();
+        if (healthy.isEmpty() || ejected * 100 > instances.size() * maxEjectionPercent) {
+            return instances;
+        }
+        return healthy;
+    }
+
+    private double load(ServiceInstance instance) {
+        return (stats.get(instance).outstanding() + 1) / (double) Instances.weight(instance);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Uses the Redis limiter while Redis answers in time and the local one otherwise, so limits
+ * keep holding (fail closed) through a Redis outage. While Redis is down, one request per
+ * probe interval tries it again. When Redis is back, permits spent locally are charged to
+ * the Redis buckets before the local buckets are dropped.
+ */
+@Component
+@Slf4j
+public class FailoverRateLimiter {
+
+    private final RedisTokenBucketRateLimiter redisLimiter;
+    private final LocalTokenBucketRateLimiter localLimiter;
+    private final GatewayInstanceRegistry instanceRegistry;
+    private final Duration redisTimeout;
+    private final long probeIntervalNanos;
+
+    // 0 while Redis is healthy, otherwise the earliest time of the next probe
+    private final AtomicLong nextProbeAt = new AtomicLong();
+
+    public FailoverRateLimiter(RedisTokenBucketRateLimiter redisLimiter,
+                               LocalTokenBucketRateLimiter localLimiter,
+                               GatewayInstanceRegistry instanceRegistry,
+                               RateLimitProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.redisLimiter = redisLimiter;
+        this.localLimiter = localLimiter;
+        this.instanceRegistry = instanceRegistry;
+        this.redisTimeout = Duration.ofMillis(properties.fallback().redisTimeoutMs());
+        this.probeIntervalNanos = Duration.ofMillis(properties.fallback().probeIntervalMs()).toNanos();
+        Gauge.builder("gateway.ratelimit.fallback.active", nextProbeAt, next -> next.get() == 0 ? 0 : 1)
+                .description("1 while rate limits are enforced locally because Redis is unavailable")
+                .register(meterRegistry);
+    }
+
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitProperties.Policy policy) {
+        long probeAt = nextProbeAt.get();
+        if (probeAt != 0) {
+            long now = System.nanoTime();
+            // Only the request that wins the CAS probes Redis, the rest stay local
+            if (now - probeAt < 0 || !nextProbeAt.compareAndSet(probeAt, now + probeIntervalNanos)) {
+                return Mono.just(local(key, policy));
+            }
+        }
+
+        return redisLimiter.tryAcquire(key, policy)
+                .timeout(redisTimeout)
+                .doOnNext(decision -> onRedisAvailable())
+                .onErrorResume(e -> {
+                    onRedisFailure(e);
+                    return Mono.just(local(key, policy));
+                });
+    }
+
+    private RateLimitDecision local(String key, RateLimitProperties.Policy policy) {
+        return localLimiter.tryAcquire(key, policy, instanceRegistry.knownInstances());
+    }
+
+    private void onRedisFailure(Throwable e) {
+        long next = System.nanoTime() + probeIntervalNanos;
+        if (nextProbeAt.getAndUpdate(current -> current == 0 ? next : current) == 0) {
+            log.error("Redis rate limiting unavailable, enforcing limits locally across {} instances: {}",
+                    instanceRegistry.knownInstances(), e.toString());
+        }
+    }
+
+    private void onRedisAvailable() {
+        if (nextProbeAt.get() != 0 && nextProbeAt.getAndSet(0) != 0) {
+            log.info("Redis rate limiting available again, reconciling local usage");
+            reconcile();
+        }
+    }
+
+    private void reconcile() {
+        List<LocalTokenBucketRateLimiter.Consumption> consumed = localLimiter.drainConsumed();
+        localLimiter.clear();
+        Flux.fromIterable(consumed)
+                .flatMap(c -> redisLimiter.charge(c.key(), c.policy(), c.permits()), 16)
+                .subscribe(
+                        null,
+                        e -> log.warn("Could not charge local rate limit usage to Redis: {}", e.getMessage()),
+                        () -> log.info("Charged local usage of {} rate limit keys to Redis", consumed.size()));
+    }
+}
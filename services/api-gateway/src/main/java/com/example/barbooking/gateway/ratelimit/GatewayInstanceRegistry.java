@@ -0,0 +1,47 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Heartbeats this gateway into a Redis sorted set and remembers how many instances were alive
+ * at the last successful beat. The fallback limiter divides limits by that number.
+ */
+@Component
+@Slf4j
+public class GatewayInstanceRegistry {
+
+    private static final String INSTANCES_KEY = "rate_limit:instances";
+    private static final Duration INSTANCE_TTL = Duration.ofSeconds(15);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile int knownInstances;
+
+    public GatewayInstanceRegistry(ReactiveStringRedisTemplate redisTemplate, RateLimitProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.knownInstances = properties.fallback().instanceCount();
+    }
+
+    public int knownInstances() {
+        return knownInstances;
+    }
+
+    @Scheduled(fixedRate = 5000)
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(INSTANCES_KEY, instanceId, now)
+                .then(redisTemplate.opsForZSet().removeRangeByScore(INSTANCES_KEY,
+                        Range.closed(0.0, (double) (now - INSTANCE_TTL.toMillis()))))
+                .then(redisTemplate.opsForZSet().size(INSTANCES_KEY))
+                .subscribe(
+                        count -> knownInstances = (int) Math.max(1, count),
+                        e -> log.debug("Gateway heartbeat failed, keeping {} instances: {}", knownInstances, e.getMessage()));
+    }
+}
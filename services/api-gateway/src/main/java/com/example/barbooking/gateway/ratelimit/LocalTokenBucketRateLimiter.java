@@ -0,0 +1,87 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process token buckets for when Redis is unavailable. The cluster-wide policy is split
+ * evenly over the gateway instances, so together they stay close to the configured limit.
+ * Buckets hold two numbers and a counter each and live in a size-bounded cache, so
+ * memory stays flat however many clients show up during an outage.
+ */
+@Component
+public class LocalTokenBucketRateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalTokenBucketRateLimiter(RateLimitProperties properties) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.fallback().maxKeys())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy, int instances) {
+        double capacity = Math.max(1, (double) policy.capacity() / instances);
+        double refillPerNano = policy.refillPerSecond() / instances / 1e9;
+        Bucket bucket = buckets.get(key, k -> new Bucket(policy, capacity));
+        return bucket.tryAcquire(capacity, refillPerNano);
+    }
+
+    /**
+     * Permits spent per key since the last drain, so they can be charged to Redis once it is back.
+     */
+    public List<Consumption> drainConsumed() {
+        List<Consumption> consumed = new ArrayList<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long spent = bucket.drainConsumed();
+            if (spent > 0) {
+                consumed.add(new Consumption(key, bucket.policy, spent));
+            }
+        });
+        return consumed;
+    }
+
+    public void clear() {
+        buckets.invalidateAll();
+    }
+
+    public record Consumption(String key, RateLimitProperties.Policy policy, long permits) {}
+
+    private static final class Bucket {
+
+        private final RateLimitProperties.Policy policy;
+        private double tokens;
+        private long lastRefill;
+        private long consumed;
+
+        Bucket(RateLimitProperties.Policy policy, double capacity) {
+            this.policy = policy;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized RateLimitDecision tryAcquire(double capacity, double refillPerNano) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens < 1) {
+                return RateLimitDecision.denied((long) Math.ceil((1 - tokens) / refillPerNano / 1e6));
+            }
+            tokens -= 1;
+            consumed++;
+            return RateLimitDecision.allowed((long) tokens);
+        }
+
+        synchronized long drainConsumed() {
+            long spent = consumed;
+            consumed = 0;
+            return spent;
+        }
+    }
+}
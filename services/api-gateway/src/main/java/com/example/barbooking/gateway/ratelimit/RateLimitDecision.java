@@ -0,0 +1,15 @@
+package com.example.barbooking.gateway.ratelimit;
+
+/**
+ * Outcome of one permit request; {@code remaining} is approximate when permits are leased.
+ */
+public record RateLimitDecision(boolean allowed, long remaining, long retryAfterMs) {
+
+    public static RateLimitDecision allowed(long remaining) {
+        return new RateLimitDecision(true, remaining, 0);
+    }
+
+    public static RateLimitDecision denied(long retryAfterMs) {
+        return new RateLimitDecision(false, 0, retryAfterMs);
+    }
+}
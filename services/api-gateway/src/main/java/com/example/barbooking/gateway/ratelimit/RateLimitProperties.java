@@ -0,0 +1,85 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * {@code gateway.rate-limit.*}: a default policy plus overrides keyed by gateway route id.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        Policy defaultPolicy,
+        Map<String, Policy> routes,
+        Fallback fallback
+) {
+
+    public RateLimitProperties {
+        routes = routes == null ? Map.of() : Map.copyOf(routes);
+        fallback = fallback == null ? new Fallback(0, 0, 0, 0) : fallback;
+    }
+
+    public Policy policyFor(String routeId) {
+        return routeId == null ? defaultPolicy : routes.getOrDefault(routeId, defaultPolicy);
+    }
+
+    /**
+     * @param limitBy         whose budget a request spends; USER falls back to IP for anonymous calls
+     * @param capacity        burst size
+     * @param refillPerSecond sustained rate
+     * @param leaseSize       permits a gateway instance takes from Redis at once; 1 disables leasing
+     * @param leaseTtlMs      how long leased permits stay usable, which bounds how far instances can overshoot
+     */
+    public record Policy(
+            LimitBy limitBy,
+            long capacity,
+            double refillPerSecond,
+            int leaseSize,
+            long leaseTtlMs
+    ) {
+
+        public Policy {
+            if (limitBy == null) {
+                limitBy = LimitBy.IP;
+            }
+            if (capacity <= 0 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+            }
+            if (leaseSize < 1) {
+                leaseSize = 1;
+            }
+            if (leaseTtlMs <= 0) {
+                leaseTtlMs = 1000;
+            }
+        }
+    }
+
+    /**
+     * Local limiting used while Redis is unreachable.
+     *
+     * @param instanceCount   gateway instances assumed until the first heartbeat has been seen in Redis
+     * @param maxKeys         local buckets kept at most, least recently used ones are dropped
+     * @param redisTimeoutMs  a permit check slower than this counts as a Redis failure
+     * @param probeIntervalMs how often one request tries Redis again while it is down
+     */
+    public record Fallback(
+            int instanceCount,
+            long maxKeys,
+            long redisTimeoutMs,
+            long probeIntervalMs
+    ) {
+
+        public Fallback {
+            instanceCount = instanceCount < 1 ? 1 : instanceCount;
+            maxKeys = maxKeys < 1 ? 100_000 : maxKeys;
+            redisTimeoutMs = redisTimeoutMs < 1 ? 200 : redisTimeoutMs;
+            probeIntervalMs = probeIntervalMs < 1 ? 1000 : probeIntervalMs;
+        }
+    }
+
+    public enum LimitBy {
+        IP,
+        USER
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cluster-wide token buckets in Redis, one Lua call per refill. With a lease size above 1 an
+ * instance takes several permits per call and hands them out locally until they run out or
+ * the lease expires, so Redis sees roughly one call per lease instead of one per request.
+ * Leased permits that expire unused are simply lost, which keeps the limit on the safe side.
+ */
+@Component
+public class RedisTokenBucketRateLimiter {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RedisScript<List<Long>> tokenBucketScript;
+    private final Cache<String, Lease> leases = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(1))
+            .build();
+    private final Counter redisCalls;
+
+    public RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                       RedisScript<List<Long>> tokenBucketScript,
+                                       MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.tokenBucketScript = tokenBucketScript;
+        this.redisCalls = Counter.builder("gateway.ratelimit.redis.calls")
+                .description("Token bucket scripts run against Redis")
+                .register(meterRegistry);
+    }
+
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitProperties.Policy policy) {
+        if (policy.leaseSize() == 1) {
+            return take(key, policy, 1).map(result -> result.granted() > 0
+                    ? RateLimitDecision.allowed(result.remaining())
+                    : RateLimitDecision.denied(result.retryAfterMs()));
+        }
+
+        Lease lease = leases.get(key, k -> new Lease());
+        long leftInLease = lease.tryTake();
+        if (leftInLease >= 0) {
+            return Mono.just(RateLimitDecision.allowed(leftInLease));
+        }
+        return take(key, policy, policy.leaseSize()).map(result -> {
+            if (result.granted() == 0) {
+                return RateLimitDecision.denied(result.retryAfterMs());
+            }
+            // Keep one permit for this request, the rest serve the next ones locally
+            lease.add(result.granted() - 1, policy.leaseTtlMs());
+            return RateLimitDecision.allowed(result.remaining() + result.granted() - 1);
+        });
+    }
+
+    /**
+     * Spend permits that were handed out without asking Redis, e.g. by the local fallback.
+     */
+    public Mono<Void> charge(String key, RateLimitProperties.Policy policy, long permits) {
+        return take(key, policy, (int) Math.min(permits, Integer.MAX_VALUE)).then();
+    }
+
+    private Mono<BucketResult> take(String key, RateLimitProperties.Policy policy, int permits) {
+        redisCalls.increment();
+        return redisTemplate.execute(tokenBucketScript, List.of(key), List.of(
+                        Long.toString(policy.capacity()),
+                        Double.toString(policy.refillPerSecond()),
+                        Integer.toString(permits)))
+                .next()
+                .map(reply -> new BucketResult(reply.get(0), reply.get(1), reply.get(2)));
+    }
+
+    private record BucketResult(long granted, long remaining, long retryAfterMs) {}
+
+    private static final class Lease {
+
+        private final AtomicLong permits = new AtomicLong();
+        private volatile long expiresAt;
+
+        /**
+         * Permits left after taking one, or -1 if the lease is empty or expired.
+         */
+        long tryTake() {
+            if (System.nanoTime() - expiresAt > 0) {
+                permits.set(0);
+                return -1;
+            }
+            while (true) {
+                long available = permits.get();
+                if (available <= 0) {
+                    return -1;
+                }
+                if (permits.compareAndSet(available, available - 1)) {
+                    return available - 1;
+                }
+            }
+        }
+
+        void add(long count, long ttlMs) {
+            if (count > 0) {
+                expiresAt = System.nanoTime() + Duration.ofMillis(ttlMs).toNanos();
+                permits.addAndGet(count);
+            }
+        }
+    }
+}
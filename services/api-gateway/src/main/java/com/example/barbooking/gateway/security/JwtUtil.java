@@ -1,27 +1,88 @@
 package com.example.barbooking.gateway.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Verifies gateway JWTs. The key and parser are built once; claims of tokens that verified
+ * are cached by token hash until the token expires (capped at {@code jwt.cache.max-ttl-seconds}),
+ * so repeat requests with the same token skip the HMAC check and JSON parsing.
+ * Invalid tokens are never cached.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:MySecretKeyForBarBookingSystemMustBeLongEnoughForHS256Algorithm}")
-    private String secret;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expiration;
+    private final long maxCacheTtlNanos;
+    private final Cache<String, Claims> claimsCache;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
+    public JwtUtil(
+            @Value("${jwt.secret:BarTableBookingSecretKeyThatIsLongEnoughForHS256AlgorithmMinimum32Characters}") String secret,
+            @Value("${jwt.expiration:86400000}") long expiration, // 24 hours in milliseconds
+            @Value("${jwt.cache.max-size:100000}") long maxCacheSize,
+            @Value("${jwt.cache.max-ttl-seconds:300}") long maxCacheTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.maxCacheTtlNanos = Duration.ofSeconds(maxCacheTtlSeconds).toNanos();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(maxCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
+        this.validTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+    }
+
+    /**
+     * Claims of a correctly signed, unexpired token, or empty.
+     */
+    public Optional<Claims> verify(String token) {
+        String key = hash(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null) {
+            // Entries expire with the token, this only covers the last few ms of the timer
+            return isExpired(cached) ? Optional.empty() : Optional.of(cached);
+        }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            claimsCache.put(key, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.empty();
+        }
     }
 
     public String extractUsername(String token) {
@@ -33,28 +94,13 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token)
+                .map(claimsResolver)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid JWT token"));
     }
 
     public Boolean validateToken(String token) {
-        try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
     public String generateToken(String username) {
@@ -62,8 +108,53 @@ public class JwtUtil {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
-}
 
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.before(new Date());
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("gateway.jwt.validation")
+                .description("Signature check and parsing of tokens not found in the claims cache")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // Keeps raw bearer tokens out of the cache's key set
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return maxCacheTtlNanos;
+            }
+            long untilExpiry = Duration.ofMillis(exp.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, maxCacheTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+-- Token bucket in one round trip.
+-- KEYS[1]  bucket hash (tokens, ts)
+-- ARGV[1]  capacity (burst size)
+-- ARGV[2]  refill rate, tokens per second
+-- ARGV[3]  permits wanted; fewer may be granted when the bucket runs low
+-- Returns {granted, tokens left, ms until the next token when nothing was granted}
+local capacity = tonumber(ARGV[1])
+local rate = tonumber(ARGV[2])
+local wanted = tonumber(ARGV[3])
+
+-- Redis clock, so all gateway instances agree on elapsed time
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+local granted = math.min(wanted, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- An idle bucket is full again after capacity / rate, no need to keep it longer
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+
+local retryAfter = 0
+if granted == 0 then
+  retryAfter = math.ceil((1 - tokens) / rate * 1000)
+end
+return {granted, math.floor(tokens), retryAfter}
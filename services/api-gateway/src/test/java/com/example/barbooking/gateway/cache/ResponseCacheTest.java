@@ -0,0 +1,104 @@
+package com.example.barbooking.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResponseCacheTest {
+
+    private static final URI ZONES = URI.create("http://localhost:8082/api/zones");
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private HttpStatus nextStatus = HttpStatus.OK;
+
+    @Test
+    void concurrentMissesShareOneFetch() {
+        ResponseCache cache = cache(Duration.ofSeconds(30), Duration.ofMillis(50));
+
+        List<ResponseCache.Lookup> lookups = Flux.range(0, 20)
+                .flatMap(i -> cache.lookup(ZONES))
+                .collectList()
+                .block();
+
+        assertThat(fetches).hasValue(1);
+        assertThat(lookups).extracting(lookup -> body(lookup.response())).containsOnly("[1]");
+        assertThat(cache.lookup(ZONES).block().outcome()).isEqualTo(ResponseCache.Outcome.HIT);
+    }
+
+    @Test
+    void staleEntryIsServedWhileItRefreshes() throws InterruptedException {
+        ResponseCache cache = cache(Duration.ofMillis(50), Duration.ofMillis(200));
+        cache.lookup(ZONES).block();
+        Thread.sleep(100);
+
+        ResponseCache.Lookup stale = cache.lookup(ZONES).block();
+
+        assertThat(body(stale.response())).isEqualTo("[1]");
+        assertThat(stale.outcome()).isEqualTo(ResponseCache.Outcome.HIT);
+        awaitFetches(2);
+    }
+
+    @Test
+    void invalidationForcesANewFetch() {
+        ResponseCache cache = cache(Duration.ofSeconds(30), Duration.ofMillis(50));
+        CachedResponse first = cache.lookup(ZONES).block().response();
+
+        cache.invalidateAll();
+        ResponseCache.Lookup second = cache.lookup(ZONES).block();
+
+        assertThat(second.outcome()).isEqualTo(ResponseCache.Outcome.MISS);
+        assertThat(body(second.response())).isEqualTo("[2]");
+        assertThat(second.response().etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    void serverErrorsAreNotCached() {
+        ResponseCache cache = cache(Duration.ofSeconds(30), Duration.ofMillis(50));
+        nextStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+        assertThatThrownBy(() -> cache.lookup(ZONES).block()).isInstanceOf(RuntimeException.class);
+
+        nextStatus = HttpStatus.OK;
+        assertThat(body(cache.lookup(ZONES).block().response())).isEqualTo("[2]");
+    }
+
+    private ResponseCache cache(Duration freshTtl, Duration fetchDelay) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            int fetch = fetches.incrementAndGet();
+            return Mono.delay(fetchDelay).map(tick -> ClientResponse.create(nextStatus)
+                    .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                    .body("[" + fetch + "]")
+                    .build());
+        });
+        ResponseCacheProperties properties = new ResponseCacheProperties(true, Set.of("table-service-zones"),
+                freshTtl, Duration.ofMinutes(5), 100, 0, Duration.ofSeconds(2));
+        return new ResponseCache(builder, properties, new SimpleMeterRegistry());
+    }
+
+    private void awaitFetches(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (fetches.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(fetches).hasValue(expected);
+    }
+
+    private static String body(CachedResponse response) {
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+}
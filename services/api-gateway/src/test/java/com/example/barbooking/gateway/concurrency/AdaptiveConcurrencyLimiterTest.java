@@ -0,0 +1,71 @@
+package com.example.barbooking.gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void lowPriorityIsShedBeforeCritical() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(RequestPriority.LOW)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(RequestPriority.LOW)).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void limitGrowsWhileLatencyStaysFlat() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5);
+
+        runAtLimit(limiter, 200, 10 * MS);
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void limitShrinksWhenLatencyClimbs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 0.2, 1.5);
+        runAtLimit(limiter, 20, 10 * MS);
+        int before = limiter.getLimit();
+
+        runAtLimit(limiter, 50, 100 * MS);
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2);
+    }
+
+    @Test
+    void failuresCutTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 0.2, 1.5);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(RequestPriority.CRITICAL);
+            limiter.onDropped();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    // Keeps the limiter saturated so every sample is allowed to move the limit
+    private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire(RequestPriority.CRITICAL)) {
+                // fill up
+            }
+            limiter.onSuccess(rttNanos);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.onIgnored();
+        }
+    }
+}
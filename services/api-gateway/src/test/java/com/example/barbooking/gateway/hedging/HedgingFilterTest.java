@@ -0,0 +1,155 @@
+package com.example.barbooking.gateway.hedging;
+
+import com.example.barbooking.gateway.filter.HedgingFilter;
+import com.example.barbooking.gateway.loadbalancer.ExcludedInstances;
+import com.example.barbooking.gateway.loadbalancer.InstanceStatsRegistry;
+import com.example.barbooking.gateway.loadbalancer.LoadBalancingProperties;
+import com.example.barbooking.gateway.discovery.Instances;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HedgingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private DisposableServer slow;
+    private DisposableServer fast;
+
+    @AfterEach
+    void tearDown() {
+        slow.disposeNow();
+        fast.disposeNow();
+    }
+
+    @Test
+    void slowRequestIsHedgedToAnotherInstance() {
+        start(HttpStatus.OK, Duration.ofSeconds(2));
+        HedgingFilter filter = filter(new HedgingProperties.Budget(1, 0, 10), Duration.ofMillis(100));
+
+        long start = System.nanoTime();
+        MockServerWebExchange exchange = run(filter, "/api/bookings/5");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+        assertThat(counter("gateway.hedging.responses", "winner", "hedge")).isEqualTo(1);
+        assertThat(chainCalls).hasValue(0);
+    }
+
+    @Test
+    void noHedgeWithoutBudget() {
+        start(HttpStatus.OK, Duration.ofMillis(500));
+        HedgingFilter filter = filter(new HedgingProperties.Budget(0.1, 0, 10), Duration.ofMillis(100));
+
+        MockServerWebExchange exchange = run(filter, "/api/bookings/5");
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("slow");
+        assertThat(counter("gateway.hedging.budget.exhausted", "route", "booking-service")).isEqualTo(1);
+    }
+
+    @Test
+    void unavailableInstanceIsRetriedWithoutWaitingForTheDelay() {
+        start(HttpStatus.SERVICE_UNAVAILABLE, Duration.ZERO);
+        HedgingFilter filter = filter(new HedgingProperties.Budget(1, 0, 10), Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        MockServerWebExchange exchange = run(filter, "/api/bookings/5");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("fast");
+        assertThat(counter("gateway.hedging.attempts", "reason", "failure")).isEqualTo(1);
+    }
+
+    @Test
+    void otherPathsAreRoutedAsUsual() {
+        start(HttpStatus.OK, Duration.ZERO);
+        HedgingFilter filter = filter(new HedgingProperties.Budget(1, 0, 10), Duration.ofMillis(100));
+
+        run(filter, "/api/bookings/user/5/history");
+
+        assertThat(chainCalls).hasValue(1);
+    }
+
+    private void start(HttpStatus slowStatus, Duration slowDelay) {
+        slow = HttpServer.create().port(0)
+                .route(routes -> routes.get("/api/bookings/**", (request, response) -> Mono.delay(slowDelay)
+                        .then(response.status(slowStatus.value()).sendString(Mono.just("slow")).then())))
+                .bindNow();
+        fast = HttpServer.create().port(0)
+                .route(routes -> routes.get("/api/bookings/**", (request, response) -> response.sendString(Mono.just("fast"))))
+                .bindNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HedgingFilter filter(HedgingProperties.Budget budget, Duration initialDelay) {
+        List<ServiceInstance> instances = List.of(
+                Instances.of("booking-service", "localhost", slow.port(), false, 1),
+                Instances.of("booking-service", "localhost", fast.port(), false, 1));
+        // Always prefers the slow instance unless it is excluded
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = request -> {
+            ExcludedInstances excluded = (ExcludedInstances) request.getContext();
+            Response<ServiceInstance> response = instances.stream()
+                    .filter(instance -> !excluded.instanceIds().contains(instance.getInstanceId()))
+                    .findFirst()
+                    .<Response<ServiceInstance>>map(DefaultResponse::new)
+                    .orElseGet(EmptyResponse::new);
+            return Mono.just(response);
+        };
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        when(clientFactory.getInstance("booking-service")).thenReturn(loadBalancer);
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+        when(headersFilters.getIfAvailable()).thenReturn(List.of());
+
+        HedgingProperties properties = new HedgingProperties(true, Map.of("booking-service", List.of("/api/bookings/{id}")),
+                0.95, null, null, initialDelay, 0, Duration.ofSeconds(5), 0, budget);
+        InstanceStatsRegistry stats = new InstanceStatsRegistry(new LoadBalancingProperties(5, 1000, 1000, 50), meterRegistry);
+        return new HedgingFilter(properties, clientFactory, stats, headersFilters, meterRegistry);
+    }
+
+    private MockServerWebExchange run(HedgingFilter filter, String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        Route route = Route.async()
+                .id("booking-service")
+                .uri("lb://booking-service")
+                .predicate(any -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("lb://booking-service" + path));
+        filter.filter(exchange, ignored -> {
+            chainCalls.incrementAndGet();
+            return Mono.empty();
+        }).block(Duration.ofSeconds(10));
+        return exchange;
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
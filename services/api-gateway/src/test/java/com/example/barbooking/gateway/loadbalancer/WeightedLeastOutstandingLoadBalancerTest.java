@@ -0,0 +1,109 @@
+package com.example.barbooking.gateway.loadbalancer;
+
+import com.example.barbooking.gateway.discovery.Instances;
+import com.example.barbooking.gateway.discovery.ServiceInstancesChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedLeastOutstandingLoadBalancerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InstanceStatsRegistry stats =
+            new InstanceStatsRegistry(new LoadBalancingProperties(3, 100, 1000, 50), meterRegistry);
+    private final WeightedLeastOutstandingLoadBalancer loadBalancer =
+            new WeightedLeastOutstandingLoadBalancer(null, "booking-service", stats, 50);
+
+    private final ServiceInstance a = Instances.of("booking-service", "10.0.0.1", 8083, false, 1);
+    private final ServiceInstance b = Instances.of("booking-service", "10.0.0.2", 8083, false, 1);
+    private final ServiceInstance heavy = Instances.of("booking-service", "10.0.0.3", 8083, false, 3);
+
+    @Test
+    void prefersTheInstanceWithFewerOutstandingRequests() {
+        stats.onStart(a);
+        stats.onStart(a);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(choose(List.of(a, b))).isEqualTo(b);
+        }
+    }
+
+    @Test
+    void spreadsOutstandingRequestsByWeight() {
+        Map<ServiceInstance, Integer> picks = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            ServiceInstance chosen = choose(List.of(a, heavy));
+            stats.onStart(chosen);
+            picks.merge(chosen, 1, Integer::sum);
+        }
+
+        assertThat(picks.get(heavy)).isBetween(290, 310);
+        assertThat(picks.get(a)).isBetween(90, 110);
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailuresUntilTheEjectionEnds() throws InterruptedException {
+        ServiceInstance c = Instances.of("booking-service", "10.0.0.4", 8083, false, 1);
+        fail(a, 3);
+
+        assertThat(stats.get(a).isEjected()).isTrue();
+        for (int i = 0; i < 20; i++) {
+            assertThat(choose(List.of(a, b, c))).isNotEqualTo(a);
+        }
+        assertThat(meterRegistry.get("gateway.lb.instance.ejections").tag("instance", "10.0.0.1:8083").counter().count())
+                .isEqualTo(1);
+
+        Thread.sleep(150);
+        assertThat(stats.get(a).isEjected()).isFalse();
+    }
+
+    @Test
+    void ignoresEjectionWhenTooManyInstancesAreEjected() {
+        fail(a, 3);
+        fail(b, 3);
+
+        assertThat(choose(List.of(a, b))).isIn(a, b);
+        assertThat(choose(List.of(a))).isEqualTo(a);
+    }
+
+    @Test
+    void successResetsTheFailureStreak() {
+        fail(a, 2);
+        stats.onStart(a);
+        stats.onComplete(a, false, 1_000_000);
+        fail(a, 2);
+
+        assertThat(stats.get(a).isEjected()).isFalse();
+    }
+
+    @Test
+    void dropsStatsAndMetersOfInstancesThatLeaveDiscovery() {
+        stats.onStart(a);
+        stats.onStart(b);
+
+        stats.onInstancesChanged(new ServiceInstancesChangedEvent(Map.of("booking-service", List.of(b))));
+
+        assertThat(meterRegistry.find("gateway.lb.instance.outstanding").tag("instance", "10.0.0.1:8083").meters()).isEmpty();
+        assertThat(meterRegistry.find("gateway.lb.instance.outstanding").tag("instance", "10.0.0.2:8083").gauge().value())
+                .isEqualTo(1);
+        stats.onComplete(a, true, 1_000_000); // Still in flight when the instance left
+        assertThat(meterRegistry.find("gateway.lb.instance.latency").tag("instance", "10.0.0.1:8083").meters()).isEmpty();
+    }
+
+    private ServiceInstance choose(List<ServiceInstance> instances) {
+        return loadBalancer.choose(instances).getServer();
+    }
+
+    private void fail(ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            stats.onStart(instance);
+            stats.onComplete(instance, true, 1_000_000);
+        }
+    }
+}
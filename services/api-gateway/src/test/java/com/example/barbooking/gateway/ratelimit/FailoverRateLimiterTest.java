@@ -0,0 +1,71 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FailoverRateLimiterTest {
+
+    private final RateLimitProperties.Policy policy =
+            new RateLimitProperties.Policy(RateLimitProperties.LimitBy.IP, 10, 0.001, 1, 1000);
+
+    private RedisTokenBucketRateLimiter redisLimiter;
+    private GatewayInstanceRegistry instanceRegistry;
+    private FailoverRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // Probe interval of 1ms so the recovery test does not have to wait
+        RateLimitProperties properties = new RateLimitProperties(true, policy, Map.of(),
+                new RateLimitProperties.Fallback(2, 1000, 100, 1));
+        redisLimiter = mock(RedisTokenBucketRateLimiter.class);
+        instanceRegistry = mock(GatewayInstanceRegistry.class);
+        when(instanceRegistry.knownInstances()).thenReturn(2);
+        when(redisLimiter.charge(any(), any(), anyLong())).thenReturn(Mono.empty());
+        limiter = new FailoverRateLimiter(redisLimiter, new LocalTokenBucketRateLimiter(properties),
+                instanceRegistry, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void redisOutageFailsClosedWithTheInstanceShareOfTheLimit() {
+        when(redisLimiter.tryAcquire(any(), any()))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire("k", policy).block().allowed()) {
+                allowed++;
+            }
+        }
+
+        // Capacity 10 split over 2 gateways
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void recoveryChargesLocalUsageToRedis() throws InterruptedException {
+        when(redisLimiter.tryAcquire(any(), any()))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        limiter.tryAcquire("k", policy).block();
+        limiter.tryAcquire("k", policy).block();
+
+        when(redisLimiter.tryAcquire(any(), any())).thenReturn(Mono.just(RateLimitDecision.allowed(7)));
+        Thread.sleep(5);
+        RateLimitDecision decision = limiter.tryAcquire("k", policy).block();
+
+        assertThat(decision.remaining()).isEqualTo(7);
+        verify(redisLimiter).charge(eq("k"), eq(policy), eq(2L));
+    }
+}
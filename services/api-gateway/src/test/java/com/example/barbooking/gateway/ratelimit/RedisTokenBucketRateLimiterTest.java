@@ -0,0 +1,90 @@
+package com.example.barbooking.gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RedisTokenBucketRateLimiterTest {
+
+    private final AtomicInteger scriptCalls = new AtomicInteger();
+    private final AtomicInteger bucket = new AtomicInteger();
+    private RedisTokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        // Stands in for the Lua script: grant what is left, never refill
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(call -> {
+            scriptCalls.incrementAndGet();
+            List<String> args = call.getArgument(2);
+            int wanted = Integer.parseInt(args.get(2));
+            int granted = Math.min(wanted, bucket.get());
+            int left = bucket.addAndGet(-granted);
+            return Flux.just(List.of((long) granted, (long) left, granted == 0 ? 1000L : 0L));
+        });
+        limiter = new RedisTokenBucketRateLimiter(redisTemplate, mock(RedisScript.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void withoutLeasingEveryRequestGoesToRedis() {
+        bucket.set(3);
+        RateLimitProperties.Policy policy = policy(1);
+
+        assertThat(acquire(policy, 4)).isEqualTo(3);
+        assertThat(scriptCalls).hasValue(4);
+    }
+
+    @Test
+    void leasedPermitsAreServedLocally() {
+        bucket.set(100);
+        RateLimitProperties.Policy policy = policy(10);
+
+        assertThat(acquire(policy, 50)).isEqualTo(50);
+        assertThat(scriptCalls).hasValue(5);
+    }
+
+    @Test
+    void leasingNeverGrantsMoreThanTheBucketHolds() {
+        bucket.set(12);
+        RateLimitProperties.Policy policy = policy(10);
+
+        assertThat(acquire(policy, 20)).isEqualTo(12);
+    }
+
+    @Test
+    void deniedRequestCarriesRetryAfter() {
+        bucket.set(0);
+
+        RateLimitDecision decision = limiter.tryAcquire("k", policy(1)).block();
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.retryAfterMs()).isEqualTo(1000);
+    }
+
+    private int acquire(RateLimitProperties.Policy policy, int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (limiter.tryAcquire("k", policy).block().allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static RateLimitProperties.Policy policy(int leaseSize) {
+        return new RateLimitProperties.Policy(RateLimitProperties.LimitBy.IP, 100, 10, leaseSize, 60_000);
+    }
+}
@@ -16,7 +16,17 @@ dependencies {
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-mysql")
 
+    // Idempotency-Key support for POST endpoints
+    implementation(project(":libs:idempotency"))
+
+    // Signature check of the gateway identity headers, shared with payment-service and user-service
+    implementation(project(":libs:identity"))
+
+    // Outbox relay shared with payment-service
+    implementation(project(":libs:outbox"))
+
     // Utilities
+    implementation("com.github.ben-manes.caffeine:caffeine")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
 
@@ -0,0 +1,8 @@
+package com.example.barbooking.booking.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a booking is created PENDING; listeners act on it after the transaction commits.
+ */
+public record BookingAwaitingPayment(Long bookingId, LocalDateTime createdAt) {}
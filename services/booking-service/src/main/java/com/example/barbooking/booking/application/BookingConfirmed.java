@@ -0,0 +1,8 @@
+package com.example.barbooking.booking.application;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a booking becomes CONFIRMED; listeners act on it after the transaction commits.
+ */
+public record BookingConfirmed(Long bookingId, LocalDateTime gracePeriodEnd) {}
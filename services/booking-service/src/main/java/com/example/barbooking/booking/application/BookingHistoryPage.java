@@ -0,0 +1,10 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.BookingSummary;
+
+import java.util.List;
+
+/**
+ * One page of a user's booking history; {@code nextCursor} is null on the last page.
+ */
+public record BookingHistoryPage(List<BookingSummary> items, String nextCursor) {}
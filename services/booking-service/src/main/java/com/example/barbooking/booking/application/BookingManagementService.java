@@ -1,18 +1,25 @@
 package com.example.barbooking.booking.application;
 
 import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
 import com.example.barbooking.booking.domain.model.OutboxEvent;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
 import com.example.barbooking.booking.domain.port.BookingRepository;
 import com.example.barbooking.booking.domain.port.OutboxEventRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,11 +35,15 @@ public class BookingManagementService {
 
     private final BookingRepository bookingRepository;
     private final OutboxEventRepository outboxEventRepository;
-    private final ObjectMapper objectMapper;
+    private final OutboxEventFactory outboxEventFactory;
     private final StringRedisTemplate redisTemplate;
+    private final SlotInventory slotInventory;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final String QR_TOKEN_PREFIX = "qr:booking:";
     private static final long QR_TOKEN_EXPIRY_HOURS = 24;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_BULK_TRANSITION_SIZE = 1000;
 
     public Booking createBooking(Long userId, Long tableId, Long zoneId, Booking.BookingType bookingType,
                                   Booking.TimeSlot timeSlot, LocalDateTime bookingDate, Integer guestCount) {
@@ -45,6 +56,12 @@ public class BookingManagementService {
             throw new IllegalArgumentException("Normal booking requires zone ID");
         }
 
+        // Reserve capacity before touching the database (released again on rollback)
+        SlotKey slotKey = SlotKey.of(bookingType, timeSlot, bookingDate, tableId, zoneId);
+        if (!slotInventory.reserve(slotKey)) {
+            throw new IllegalStateException("Selected time slot is fully booked");
+        }
+
         // Calculate fee based on booking type
         double fee = timeSlot.getFeeForBookingType(bookingType);
         
@@ -70,13 +87,17 @@ public class BookingManagementService {
             generateQRToken(booking); // Generate QR token for free bookings
             booking = bookingRepository.save(booking);
             createOutboxEvent(OutboxEvent.EventType.BOOKING_CONFIRMED, booking.getId(), userId);
+            publishBookingConfirmed(booking);
+        } else {
+            // Unpaid bookings hold their slot only until the payment deadline
+            eventPublisher.publishEvent(new BookingAwaitingPayment(booking.getId(), LocalDateTime.now()));
         }
 
         return booking;
     }
 
     public void confirmBooking(Long bookingId, Long paymentId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
         booking.confirm(paymentId);
@@ -88,19 +109,25 @@ public class BookingManagementService {
 
         // Create outbox event
         createOutboxEvent(OutboxEvent.EventType.BOOKING_CONFIRMED, bookingId, booking.getUserId());
+        publishBookingConfirmed(booking);
     }
 
-    public void confirmPaymentReceived(Long bookingId, String transactionId) {
-        Booking booking = bookingRepository.findById(bookingId)
+    public void confirmPaymentReceived(Long bookingId, Long paymentId, String transactionId) {
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            // Expired or cancelled before the payment arrived; its slot may already be taken again
+            log.warn("Payment {} arrived for cancelled booking {}, refund required", paymentId, bookingId);
+            return;
+        }
         if (booking.getStatus() != Booking.BookingStatus.PENDING) {
             log.warn("Booking {} is not in PENDING status, current status: {}", bookingId, booking.getStatus());
             return; // Idempotent - ignore if already confirmed
         }
         
-        // Confirm booking (paymentId might be null, that's ok)
-        booking.confirm(booking.getPaymentId());
+        // Record the payment that confirmed the booking
+        booking.confirm(paymentId);
         
         // Generate QR token when confirming booking
         generateQRToken(booking);
@@ -111,10 +138,11 @@ public class BookingManagementService {
 
         // Create outbox event
         createOutboxEvent(OutboxEvent.EventType.BOOKING_CONFIRMED, bookingId, booking.getUserId());
+        publishBookingConfirmed(booking);
     }
 
     public void checkInBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
         booking.checkIn();
@@ -122,7 +150,7 @@ public class BookingManagementService {
     }
 
     public void completeBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
         booking.complete();
@@ -132,21 +160,30 @@ public class BookingManagementService {
     }
 
     public void cancelBooking(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
-        
+
+        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
+            log.info("Booking {} is already cancelled", bookingId);
+            return; // Idempotent - no second BOOKING_CANCELLED event
+        }
+        boolean heldSlot = booking.getStatus().holdsSlot();
         booking.cancel();
         bookingRepository.save(booking);
+        if (heldSlot) {
+            slotInventory.release(SlotKey.of(booking));
+        }
 
         createOutboxEvent(OutboxEvent.EventType.BOOKING_CANCELLED, bookingId, booking.getUserId());
     }
 
     public void markBookingAsNoShow(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         
         booking.markAsNoShow();
         bookingRepository.save(booking);
+        slotInventory.release(SlotKey.of(booking));
 
         // Only create no-show event for free slots (to trigger ban check)
         if (booking.isFreeSlot()) {
@@ -154,6 +191,62 @@ public class BookingManagementService {
         }
     }
 
+    /**
+     * Apply one staff transition to many bookings in a single transaction. Bookings are locked and
+     * checked against the {@link Booking.Transition} rules in one query; the valid ones are updated
+     * with one statement and their outbox events saved as one JDBC batch. Invalid or unknown ids,
+     * including bookings already in the target status, are reported per item and do not fail the batch.
+     */
+    public BulkTransitionResult applyBulkTransition(Booking.Transition transition, List<Long> bookingIds) {
+        if (transition == null) {
+            throw new IllegalArgumentException("transition is required");
+        }
+        if (bookingIds == null || bookingIds.isEmpty() || bookingIds.contains(null)) {
+            throw new IllegalArgumentException("bookingIds must list at least one booking id");
+        }
+        if (bookingIds.size() > MAX_BULK_TRANSITION_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_TRANSITION_SIZE + " bookings per request");
+        }
+        List<Long> requested = bookingIds.stream().distinct().toList();
+        Map<Long, TransitionCandidate> locked = new HashMap<>();
+        bookingRepository.lockTransitionCandidates(requested).forEach(candidate -> locked.put(candidate.id(), candidate));
+
+        List<TransitionCandidate> accepted = new ArrayList<>();
+        List<BulkTransitionResult.Item> items = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            TransitionCandidate candidate = locked.get(id);
+            if (candidate == null) {
+                items.add(new BulkTransitionResult.Item(id, BulkTransitionResult.Outcome.NOT_FOUND, null));
+            } else if (!transition.isAllowedFrom(candidate.status())) {
+                items.add(new BulkTransitionResult.Item(id, BulkTransitionResult.Outcome.INVALID_STATE, candidate.status().name()));
+            } else {
+                accepted.add(candidate);
+                items.add(new BulkTransitionResult.Item(id, BulkTransitionResult.Outcome.APPLIED, candidate.status().name()));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            bookingRepository.updateStatus(accepted.stream().map(TransitionCandidate::id).toList(), transition.getTarget());
+            if (!transition.getTarget().holdsSlot()) {
+                accepted.stream()
+                        .filter(candidate -> candidate.status().holdsSlot())
+                        .forEach(candidate -> slotInventory.release(candidate.slotKey()));
+            }
+
+            OutboxEvent.EventType eventType = transition == Booking.Transition.COMPLETE
+                    ? OutboxEvent.EventType.BOOKING_COMPLETED
+                    : OutboxEvent.EventType.BOOKING_CANCELLED;
+            List<OutboxEvent> events = accepted.stream()
+                    .map(candidate -> outboxEventFactory.create(eventType, candidate.id(), candidate.userId()))
+                    .toList();
+            outboxEventRepository.saveAll(events)
+                    .forEach(event -> eventPublisher.publishEvent(new OutboxEventCreated(event.getId())));
+        }
+
+        log.info("Bulk {} applied to {} of {} bookings", transition, accepted.size(), requested.size());
+        return new BulkTransitionResult(accepted.size(), requested.size() - accepted.size(), items);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Booking> getBookingById(Long id) {
         return bookingRepository.findById(id);
@@ -164,11 +257,129 @@ public class BookingManagementService {
         return bookingRepository.findByUserId(userId);
     }
 
+    /**
+     * One page of a user's bookings, newest first. Pass the previous page's
+     * {@code nextCursor} to continue; a blank cursor starts from the most recent booking.
+     */
+    @Transactional(readOnly = true)
+    public BookingHistoryPage getBookingHistory(Long userId, Booking.BookingStatus status,
+                                                LocalDateTime from, LocalDateTime to,
+                                                String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        BookingHistoryCursor position = BookingHistoryCursor.decode(cursor);
+
+        // Fetch one extra row to find out whether another page exists
+        List<BookingSummary> rows = bookingRepository.findHistoryPage(userId, status, from, to,
+                position.bookingDate(), position.id(), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new BookingHistoryPage(rows, null);
+        }
+
+        List<BookingSummary> items = rows.subList(0, pageSize);
+        BookingSummary last = items.get(pageSize - 1);
+        return new BookingHistoryPage(items, new BookingHistoryCursor(last.bookingDate(), last.id()).encode());
+    }
+
+    /**
+     * Mark one page of confirmed bookings past their grace period as NO_SHOW using a single
+     * UPDATE and one batch of outbox events. Returns the page so the caller can advance its cursor.
+     * Only bookings in the given id shard ({@code id % shardCount == shardIndex}) are considered.
+     */
+    public List<NoShowCandidate> markOverdueBookingsAsNoShow(LocalDateTime afterDate, Long afterId,
+                                                            int shardIndex, int shardCount, int limit) {
+        List<NoShowCandidate> candidates = bookingRepository.lockNoShowCandidates(
+                noShowCutoff(), afterDate, afterId, shardIndex, shardCount, limit);
+        applyNoShow(candidates);
+        return candidates;
+    }
+
+    /**
+     * Mark the given bookings as NO_SHOW if they are still confirmed and past their grace period.
+     */
+    public int markBookingsAsNoShow(Collection<Long> bookingIds) {
+        List<NoShowCandidate> candidates = bookingRepository.lockNoShowCandidatesByIds(bookingIds, noShowCutoff());
+        applyNoShow(candidates);
+        return candidates.size();
+    }
+
+    /**
+     * Cancel one page of PENDING bookings created at or before {@code createdBefore}, i.e. past their
+     * payment deadline, and release their slots. Returns how many were cancelled.
+     */
+    public int expireUnpaidBookings(LocalDateTime createdBefore, int limit) {
+        List<TransitionCandidate> candidates = bookingRepository.lockExpiredPendingBookings(createdBefore, limit);
+        applyExpiry(candidates);
+        return candidates.size();
+    }
+
+    /**
+     * Cancel the given bookings if they are still PENDING and were created at or before {@code createdBefore}.
+     */
+    public int expireUnpaidBookings(Collection<Long> bookingIds, LocalDateTime createdBefore) {
+        List<TransitionCandidate> candidates = bookingRepository.lockExpiredPendingBookingsByIds(bookingIds, createdBefore);
+        applyExpiry(candidates);
+        return candidates.size();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PendingPayment> getBookingsAwaitingPayment() {
+        return bookingRepository.findPendingPayments();
+    }
+
     @Transactional(readOnly = true)
-    public List<Booking> getBookingsForNoShowCheck() {
-        // Check bookings that are past their grace period
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(15);
-        return bookingRepository.findConfirmedBookingsForNoShowCheck(cutoffTime);
+    public List<NoShowCandidate> getConfirmedBookingsAwaitingNoShowCheck() {
+        return bookingRepository.findConfirmedBookingsFrom(LocalDate.now().atStartOfDay());
+    }
+
+    private LocalDateTime noShowCutoff() {
+        // Bookings are past their grace period once the slot time is 15 minutes behind us
+        return LocalDateTime.now().minusMinutes(15);
+    }
+
+    private void applyNoShow(List<NoShowCandidate> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        bookingRepository.markAsNoShow(candidates.stream().map(NoShowCandidate::id).toList());
+        candidates.forEach(candidate -> slotInventory.release(candidate.slotKey()));
+
+        // Only create no-show events for free slots (to trigger ban check)
+        List<OutboxEvent> events = candidates.stream()
+                .filter(NoShowCandidate::isFreeSlot)
+                .map(candidate -> outboxEventFactory.create(OutboxEvent.EventType.BOOKING_NO_SHOW, candidate.id(), candidate.userId()))
+                .toList();
+        if (!events.isEmpty()) {
+            outboxEventRepository.saveAll(events)
+                    .forEach(event -> eventPublisher.publishEvent(new OutboxEventCreated(event.getId())));
+        }
+
+        log.info("Marked {} bookings as NO_SHOW ({} outbox events)", candidates.size(), events.size());
+    }
+
+    private void applyExpiry(List<TransitionCandidate> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        bookingRepository.updateStatus(candidates.stream().map(TransitionCandidate::id).toList(),
+                Booking.BookingStatus.CANCELLED);
+        candidates.forEach(candidate -> slotInventory.release(candidate.slotKey()));
+
+        List<OutboxEvent> events = candidates.stream()
+                .map(candidate -> outboxEventFactory.create(OutboxEvent.EventType.BOOKING_CANCELLED, candidate.id(), candidate.userId()))
+                .toList();
+        outboxEventRepository.saveAll(events)
+                .forEach(event -> eventPublisher.publishEvent(new OutboxEventCreated(event.getId())));
+
+        log.info("Cancelled {} bookings past their payment deadline", candidates.size());
+    }
+
+    private void publishBookingConfirmed(Booking booking) {
+        eventPublisher.publishEvent(new BookingConfirmed(
+                booking.getId(),
+                booking.getTimeSlot().getGracePeriodEnd(booking.getBookingDate())
+        ));
     }
 
     private void generateQRToken(Booking booking) {
@@ -203,24 +414,8 @@ public class BookingManagementService {
     }
 
     private void createOutboxEvent(OutboxEvent.EventType eventType, Long bookingId, Long userId) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("bookingId", bookingId);
-        payload.put("userId", userId);
-        payload.put("timestamp", LocalDateTime.now());
-
-        try {
-            String payloadJson = objectMapper.writeValueAsString(payload);
-            OutboxEvent event = OutboxEvent.builder()
-                    .eventType(eventType)
-                    .payload(payloadJson)
-                    .processed(false)
-                    .build();
-            outboxEventRepository.save(event);
-            log.info("Created outbox event: {} for booking: {}", eventType, bookingId);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to create outbox event", e);
-            throw new RuntimeException("Failed to create outbox event", e);
-        }
+        OutboxEvent event = outboxEventRepository.save(outboxEventFactory.create(eventType, bookingId, userId));
+        eventPublisher.publishEvent(new OutboxEventCreated(event.getId()));
+        log.info("Created outbox event: {} for booking: {}", eventType, bookingId);
     }
 }
-
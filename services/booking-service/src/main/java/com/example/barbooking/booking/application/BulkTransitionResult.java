@@ -0,0 +1,17 @@
+package com.example.barbooking.booking.application;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk state transition, one item per requested booking id in request order.
+ */
+public record BulkTransitionResult(int applied, int rejected, List<Item> items) {
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_STATE
+    }
+
+    public record Item(Long bookingId, Outcome outcome, String previousStatus) {}
+}
@@ -0,0 +1,139 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.port.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory capacity counters per (date, time slot, table/zone).
+ * Reservations are taken with a CAS loop so concurrent booking requests never
+ * push a slot past its capacity, without locking rows in MySQL.
+ * Counters are rebuilt from the bookings table on startup.
+ * Each JVM has its own counters, so this refuses to start under the {@code cluster} profile.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.inventory.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemorySlotInventory implements SlotInventory {
+
+    private final BookingRepository bookingRepository;
+    private final int tableCapacity;
+    private final int zoneCapacity;
+
+    private final ConcurrentMap<SlotKey, AtomicInteger> reserved = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InMemorySlotInventory(
+            BookingRepository bookingRepository,
+            @Value("${booking.inventory.table-capacity:1}") int tableCapacity,
+            @Value("${booking.inventory.zone-capacity:40}") int zoneCapacity,
+            Environment environment) {
+        this(bookingRepository, tableCapacity, zoneCapacity);
+        if (environment.acceptsProfiles(Profiles.of("cluster"))) {
+            // Two replicas would each accept the last seat of a slot
+            throw new IllegalStateException(
+                    "booking.inventory.store=memory cannot be used with the cluster profile, use database");
+        }
+    }
+
+    InMemorySlotInventory(BookingRepository bookingRepository, int tableCapacity, int zoneCapacity) {
+        this.bookingRepository = bookingRepository;
+        this.tableCapacity = tableCapacity;
+        this.zoneCapacity = zoneCapacity;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        Map<SlotKey, Long> counts = bookingRepository.countSlotReservationsFrom(LocalDate.now().atStartOfDay());
+        reserved.clear();
+        counts.forEach((key, count) -> reserved.put(key, new AtomicInteger(count.intValue())));
+        log.info("Slot inventory rebuilt with {} active slots", reserved.size());
+    }
+
+    /**
+     * Reserve one unit of capacity. When called inside a transaction the
+     * reservation is handed back automatically if that transaction rolls back.
+     */
+    @Override
+    public boolean reserve(SlotKey key) {
+        AtomicInteger counter = reserved.computeIfAbsent(key, k -> new AtomicInteger());
+        int capacity = capacityOf(key);
+
+        int current;
+        do {
+            current = counter.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        decrement(key);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Return one unit of capacity, deferred until commit when called inside a transaction.
+     */
+    @Override
+    public void release(SlotKey key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    decrement(key);
+                }
+            });
+        } else {
+            decrement(key);
+        }
+    }
+
+    @Override
+    public int remaining(SlotKey key) {
+        AtomicInteger counter = reserved.get(key);
+        return capacityOf(key) - (counter == null ? 0 : counter.get());
+    }
+
+    @Scheduled(cron = "0 0 4 * * *") // Drop slots from previous days every night
+    public void evictPastSlots() {
+        LocalDate today = LocalDate.now();
+        reserved.keySet().removeIf(key -> key.date().isBefore(today));
+    }
+
+    private void decrement(SlotKey key) {
+        AtomicInteger counter = reserved.get(key);
+        if (counter != null) {
+            counter.updateAndGet(count -> Math.max(0, count - 1));
+        }
+    }
+
+    private int capacityOf(SlotKey key) {
+        return key.bookingType() == Booking.BookingType.PREMIUM ? tableCapacity : zoneCapacity;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds unsaved outbox events with the JSON payload consumers expect.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxEventFactory {
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEvent create(OutboxEvent.EventType eventType, Long bookingId, Long userId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("bookingId", bookingId);
+        payload.put("userId", userId);
+        payload.put("timestamp", LocalDateTime.now());
+
+        try {
+            String payloadJson = objectMapper.writeValueAsString(payload);
+            return OutboxEvent.builder()
+                    .eventType(eventType)
+                    .payload(payloadJson)
+                    .processed(false)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to create outbox event", e);
+            throw new RuntimeException("Failed to create outbox event", e);
+        }
+    }
+}
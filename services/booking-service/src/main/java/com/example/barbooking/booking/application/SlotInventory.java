@@ -0,0 +1,26 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.SlotKey;
+
+/**
+ * Capacity per (date, time slot, table/zone). Call it inside the transaction that writes the
+ * booking: a reservation is handed back if that transaction rolls back, and a release only
+ * takes effect once it commits.
+ * <p>
+ * {@code booking.inventory.store=memory} keeps counters in this JVM and is only correct for a
+ * single replica; {@code database} keeps them in MySQL so several replicas share them.
+ */
+public interface SlotInventory {
+
+    /**
+     * Take one unit of capacity, or return false if the slot is full.
+     */
+    boolean reserve(SlotKey key);
+
+    /**
+     * Return one unit of capacity.
+     */
+    void release(SlotKey key);
+
+    int remaining(SlotKey key);
+}
@@ -13,11 +13,13 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_id")
+    @TableGenerator(name = "booking_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "bookings", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -111,12 +113,42 @@ public class Booking {
     }
 
     public enum BookingStatus {
-        PENDING,        // Waiting for payment
+        PENDING,        // Waiting for payment, cancelled once the payment deadline passes
         CONFIRMED,      // Payment confirmed
         CHECKED_IN,     // Customer checked in
         COMPLETED,      // Booking completed
         CANCELLED,      // Cancelled by user
-        NO_SHOW         // Customer didn't show up
+        NO_SHOW;        // Customer didn't show up
+
+        public boolean holdsSlot() {
+            return this != CANCELLED && this != NO_SHOW;
+        }
+    }
+
+    /**
+     * Staff-driven transitions that can also be applied to many bookings at once.
+     */
+    public enum Transition {
+        COMPLETE(BookingStatus.COMPLETED),
+        CANCEL(BookingStatus.CANCELLED);
+
+        private final BookingStatus target;
+
+        Transition(BookingStatus target) {
+            this.target = target;
+        }
+
+        public BookingStatus getTarget() {
+            return target;
+        }
+
+        public boolean isAllowedFrom(BookingStatus current) {
+            return switch (this) {
+                case COMPLETE -> current == BookingStatus.CHECKED_IN;
+                case CANCEL -> current != BookingStatus.COMPLETED && current != BookingStatus.NO_SHOW
+                        && current != BookingStatus.CANCELLED;
+            };
+        }
     }
 
     // Business logic methods
@@ -137,15 +169,15 @@ public class Booking {
     }
 
     public void complete() {
-        if (this.status != BookingStatus.CHECKED_IN) {
+        if (!Transition.COMPLETE.isAllowedFrom(this.status)) {
             throw new IllegalStateException("Can only complete checked-in bookings");
         }
         this.status = BookingStatus.COMPLETED;
     }
 
     public void cancel() {
-        if (this.status == BookingStatus.COMPLETED || this.status == BookingStatus.NO_SHOW) {
-            throw new IllegalStateException("Cannot cancel completed or no-show bookings");
+        if (!Transition.CANCEL.isAllowedFrom(this.status)) {
+            throw new IllegalStateException("Cannot cancel completed, no-show or cancelled bookings");
         }
         this.status = BookingStatus.CANCELLED;
     }
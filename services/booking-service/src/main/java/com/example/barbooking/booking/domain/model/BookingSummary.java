@@ -0,0 +1,23 @@
+package com.example.barbooking.booking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a booking for history listings, projected straight from the query.
+ */
+public record BookingSummary(
+        Long id,
+        Long userId,
+        Long tableId,
+        Long zoneId,
+        Booking.BookingType bookingType,
+        Booking.TimeSlot timeSlot,
+        LocalDateTime bookingDate,
+        Integer guestCount,
+        Double fee,
+        Booking.BookingStatus status,
+        Long paymentId,
+        String qrToken,
+        LocalDateTime checkedInAt,
+        LocalDateTime createdAt
+) {}
@@ -0,0 +1,25 @@
+package com.example.barbooking.booking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of a confirmed booking past its grace period.
+ */
+public record NoShowCandidate(
+        Long id,
+        Long userId,
+        Long tableId,
+        Long zoneId,
+        Booking.BookingType bookingType,
+        Booking.TimeSlot timeSlot,
+        LocalDateTime bookingDate
+) {
+
+    public SlotKey slotKey() {
+        return SlotKey.of(bookingType, timeSlot, bookingDate, tableId, zoneId);
+    }
+
+    public boolean isFreeSlot() {
+        return timeSlot == Booking.TimeSlot.SLOT_20_00;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.barbooking.booking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of a booking still waiting for payment.
+ */
+public record PendingPayment(Long id, LocalDateTime createdAt) {}
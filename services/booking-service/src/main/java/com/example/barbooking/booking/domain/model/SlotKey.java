@@ -0,0 +1,27 @@
+package com.example.barbooking.booking.domain.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Identifies one bookable unit of inventory: a table (premium) or a zone (normal)
+ * for a given date and time slot.
+ */
+public record SlotKey(
+        LocalDate date,
+        Booking.TimeSlot timeSlot,
+        Booking.BookingType bookingType,
+        Long resourceId
+) {
+
+    public static SlotKey of(Booking.BookingType bookingType, Booking.TimeSlot timeSlot,
+                             LocalDateTime bookingDate, Long tableId, Long zoneId) {
+        Long resourceId = bookingType == Booking.BookingType.PREMIUM ? tableId : zoneId;
+        return new SlotKey(bookingDate.toLocalDate(), timeSlot, bookingType, resourceId);
+    }
+
+    public static SlotKey of(Booking booking) {
+        return of(booking.getBookingType(), booking.getTimeSlot(), booking.getBookingDate(),
+                booking.getTableId(), booking.getZoneId());
+    }
+}
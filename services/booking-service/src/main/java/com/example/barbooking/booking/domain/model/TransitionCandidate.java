@@ -0,0 +1,22 @@
+package com.example.barbooking.booking.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Minimal view of a booking locked for a bulk state transition.
+ */
+public record TransitionCandidate(
+        Long id,
+        Long userId,
+        Booking.BookingStatus status,
+        Long tableId,
+        Long zoneId,
+        Booking.BookingType bookingType,
+        Booking.TimeSlot timeSlot,
+        LocalDateTime bookingDate
+) {
+
+    public SlotKey slotKey() {
+        return SlotKey.of(bookingType, timeSlot, bookingDate, tableId, zoneId);
+    }
+}
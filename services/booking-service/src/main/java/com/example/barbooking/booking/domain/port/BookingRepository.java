@@ -1,9 +1,16 @@
 package com.example.barbooking.booking.domain.port;
 
 import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,11 +22,54 @@ public interface BookingRepository {
 
     Optional<Booking> findById(Long id);
 
+    /**
+     * Load a booking with a row lock for a state transition, always reading from the database.
+     */
+    Optional<Booking> findByIdForUpdate(Long id);
+
     List<Booking> findByUserId(Long userId);
 
     List<Booking> findByStatus(Booking.BookingStatus status);
 
-    List<Booking> findConfirmedBookingsForNoShowCheck(LocalDateTime cutoffTime);
+    /**
+     * Page through a user's bookings newest first, starting strictly after the
+     * (beforeDate, beforeId) keyset cursor. Null filters are ignored; {@code to} is exclusive.
+     */
+    List<BookingSummary> findHistoryPage(Long userId, Booking.BookingStatus status,
+                                         LocalDateTime from, LocalDateTime to,
+                                         LocalDateTime beforeDate, Long beforeId, int limit);
+
+    /**
+     * Lock the next page of confirmed bookings scheduled before {@code cutoffTime},
+     * ordered by (bookingDate, id) and starting after the given keyset cursor.
+     * Only bookings with {@code id % shardCount == shardIndex} are returned.
+     */
+    List<NoShowCandidate> lockNoShowCandidates(LocalDateTime cutoffTime, LocalDateTime afterDate, Long afterId,
+                                               int shardIndex, int shardCount, int limit);
+
+    List<NoShowCandidate> lockNoShowCandidatesByIds(Collection<Long> ids, LocalDateTime cutoffTime);
+
+    List<NoShowCandidate> findConfirmedBookingsFrom(LocalDateTime from);
+
+    int markAsNoShow(Collection<Long> ids);
+
+    /**
+     * Lock up to {@code limit} PENDING bookings created at or before {@code createdBefore}, oldest id first.
+     */
+    List<TransitionCandidate> lockExpiredPendingBookings(LocalDateTime createdBefore, int limit);
+
+    List<TransitionCandidate> lockExpiredPendingBookingsByIds(Collection<Long> ids, LocalDateTime createdBefore);
+
+    List<PendingPayment> findPendingPayments();
+
+    List<TransitionCandidate> lockTransitionCandidates(Collection<Long> ids);
+
+    /**
+     * Set the status of all given bookings in a single statement; callers lock and validate them first.
+     */
+    int updateStatus(Collection<Long> ids, Booking.BookingStatus status);
+
+    Map<SlotKey, Long> countSlotReservationsFrom(LocalDateTime from);
 
     void deleteById(Long id);
 }
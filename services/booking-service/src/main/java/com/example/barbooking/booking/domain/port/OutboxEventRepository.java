@@ -2,6 +2,8 @@ package com.example.barbooking.booking.domain.port;
 
 import com.example.barbooking.booking.domain.model.OutboxEvent;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,8 +13,32 @@ public interface OutboxEventRepository {
 
     OutboxEvent save(OutboxEvent event);
 
+    List<OutboxEvent> saveAll(List<OutboxEvent> events);
+
     List<OutboxEvent> findUnprocessedEvents();
 
+    /**
+     * Lock up to {@code limit} unprocessed events for the current transaction,
+     * skipping rows already claimed by another relay worker.
+     */
+    List<OutboxEvent> claimUnprocessedBatch(int limit);
+
+    List<OutboxEvent> claimUnprocessedByIds(Collection<Long> ids);
+
+    int markProcessed(Collection<Long> ids, LocalDateTime processedAt);
+
+    /**
+     * Lock up to {@code limit} events processed before the cutoff, skipping rows another node is moving.
+     */
+    List<Long> findProcessedIdsBefore(LocalDateTime cutoff, int limit);
+
+    /**
+     * Copy processed events into the archive table. Callers delete them afterwards in the same transaction.
+     */
+    int archiveByIds(Collection<Long> ids);
+
+    int deleteByIds(Collection<Long> ids);
+
     void deleteById(Long id);
 }
 
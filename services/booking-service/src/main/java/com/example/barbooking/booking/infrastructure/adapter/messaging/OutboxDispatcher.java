@@ -0,0 +1,30 @@
+package com.example.barbooking.booking.infrastructure.adapter.messaging;
+
+import com.example.barbooking.booking.application.OutboxEventCreated;
+import com.example.barbooking.outbox.OutboxDispatchQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Queues booking outbox events for the fast relay path once their transaction commits.
+ * If the queue is full or a relay fails, the scheduled poll in
+ * {@link OutboxEventPublisher} still picks the events up.
+ */
+@Component
+public class OutboxDispatcher extends OutboxDispatchQueue {
+
+    public OutboxDispatcher(
+            OutboxEventPublisher outboxEventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.dispatch.queue-capacity:10000}") int queueCapacity,
+            @Value("${outbox.relay.batch-size:100}") int batchSize) {
+        super(outboxEventPublisher, meterRegistry, queueCapacity, batchSize);
+    }
+
+    @TransactionalEventListener
+    public void onOutboxEventCreated(OutboxEventCreated event) {
+        enqueue(event.outboxEventId());
+    }
+}
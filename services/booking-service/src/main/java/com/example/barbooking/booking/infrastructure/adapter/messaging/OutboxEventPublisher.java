@@ -3,41 +3,70 @@ package com.example.barbooking.booking.infrastructure.adapter.messaging;
 import com.example.barbooking.booking.domain.model.OutboxEvent;
 import com.example.barbooking.booking.domain.port.OutboxEventRepository;
 import com.example.barbooking.booking.infrastructure.config.RabbitMqConfig;
-import lombok.RequiredArgsConstructor;
+import com.example.barbooking.outbox.OutboxRelay;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Relays booking outbox events to RabbitMQ through the shared {@link OutboxRelay}.
+ * Freshly committed events are normally relayed by {@link OutboxDispatcher}; the
+ * scheduled poll only picks up what that fast path missed.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
-public class OutboxEventPublisher {
+public class OutboxEventPublisher extends OutboxRelay<OutboxEvent> {
 
     private final OutboxEventRepository outboxEventRepository;
     private final RabbitTemplate rabbitTemplate;
 
-    @Scheduled(fixedDelay = 5000) // Run every 5 seconds
-    @Transactional
+    public OutboxEventPublisher(
+            OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.workers:2}") int workers,
+            @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        super(transactionTemplate, batchSize, workers, confirmTimeoutMs);
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:5000}")
     public void publishPendingEvents() {
-        List<OutboxEvent> events = outboxEventRepository.findUnprocessedEvents();
-        
-        for (OutboxEvent event : events) {
-            try {
-                publishEvent(event);
-                event.markAsProcessed();
-                outboxEventRepository.save(event);
-                log.info("Published and marked event {} as processed", event.getId());
-            } catch (Exception e) {
-                log.error("Failed to publish event {}: {}", event.getId(), e.getMessage());
-            }
-        }
+        relayPending();
+    }
+
+    @Override
+    protected List<OutboxEvent> claimBatch(int limit) {
+        return outboxEventRepository.claimUnprocessedBatch(limit);
+    }
+
+    @Override
+    protected List<OutboxEvent> claimByIds(Collection<Long> ids) {
+        return outboxEventRepository.claimUnprocessedByIds(ids);
     }
 
-    private void publishEvent(OutboxEvent event) {
+    @Override
+    protected void markProcessed(List<Long> ids, LocalDateTime processedAt) {
+        outboxEventRepository.markProcessed(ids, processedAt);
+    }
+
+    @Override
+    protected Long idOf(OutboxEvent event) {
+        return event.getId();
+    }
+
+    @Override
+    protected void send(OutboxEvent event, CorrelationData correlationData) {
         String routingKey = switch (event.getEventType()) {
             case BOOKING_NO_SHOW -> RabbitMqConfig.NO_SHOW_ROUTING_KEY;
             case BOOKING_CONFIRMED, BOOKING_CANCELLED, BOOKING_COMPLETED -> "booking." + event.getEventType().name().toLowerCase();
@@ -46,10 +75,15 @@ public class OutboxEventPublisher {
         rabbitTemplate.convertAndSend(
                 RabbitMqConfig.BOOKING_EXCHANGE,
                 routingKey,
-                event.getPayload()
+                event.getPayload(),
+                message -> {
+                    // Lets consumers de-duplicate redeliveries after a relay crash
+                    message.getMessageProperties().setMessageId(correlationData.getId());
+                    return message;
+                },
+                correlationData
         );
 
-        log.info("Published event {} to exchange with routing key {}", event.getEventType(), routingKey);
+        log.debug("Published event {} to exchange with routing key {}", event.getEventType(), routingKey);
     }
 }
-
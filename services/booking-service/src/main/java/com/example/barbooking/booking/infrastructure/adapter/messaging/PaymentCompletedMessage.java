@@ -0,0 +1,17 @@
+package com.example.barbooking.booking.infrastructure.adapter.messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of payment-service's {@code payment.completed} event.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record PaymentCompletedMessage(
+        Long paymentId,
+        Long bookingId,
+        Double amount,
+        String transactionId,
+        LocalDateTime paidAt
+) {}
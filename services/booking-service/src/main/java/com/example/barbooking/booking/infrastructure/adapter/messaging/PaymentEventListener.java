@@ -0,0 +1,48 @@
+package com.example.barbooking.booking.infrastructure.adapter.messaging;
+
+import com.example.barbooking.booking.application.BookingManagementService;
+import com.example.barbooking.booking.infrastructure.config.RabbitMqConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Confirms bookings from payment-service's completed-payment events.
+ * Delivery is at-least-once; {@link BookingManagementService#confirmPaymentReceived}
+ * ignores bookings that are no longer PENDING, so redeliveries are harmless.
+ * Transient failures are retried by the container, anything else ends up in the dead-letter queue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentEventListener {
+
+    private final BookingManagementService bookingManagementService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = RabbitMqConfig.PAYMENT_COMPLETED_QUEUE)
+    public void onPaymentCompleted(Message message) {
+        PaymentCompletedMessage event;
+        try {
+            event = objectMapper.readValue(message.getBody(), PaymentCompletedMessage.class);
+        } catch (IOException e) {
+            throw new AmqpRejectAndDontRequeueException("Unreadable payment event " + message.getMessageProperties().getMessageId(), e);
+        }
+        if (event.bookingId() == null) {
+            throw new AmqpRejectAndDontRequeueException("Payment event without booking id: " + event.paymentId());
+        }
+
+        try {
+            bookingManagementService.confirmPaymentReceived(event.bookingId(), event.paymentId(), event.transactionId());
+        } catch (IllegalArgumentException e) {
+            throw new AmqpRejectAndDontRequeueException("Cannot confirm booking " + event.bookingId() + ": " + e.getMessage(), e);
+        }
+        log.debug("Handled payment {} for booking {}", event.paymentId(), event.bookingId());
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.barbooking.booking.infrastructure.adapter.persistence;
 
 import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
 import com.example.barbooking.booking.domain.port.BookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -25,6 +35,11 @@ public class BookingRepositoryAdapter implements BookingRepository {
         return jpaBookingRepository.findById(id);
     }
 
+    @Override
+    public Optional<Booking> findByIdForUpdate(Long id) {
+        return jpaBookingRepository.findByIdForUpdate(id);
+    }
+
     @Override
     public List<Booking> findByUserId(Long userId) {
         return jpaBookingRepository.findByUserId(userId);
@@ -36,8 +51,87 @@ public class BookingRepositoryAdapter implements BookingRepository {
     }
 
     @Override
-    public List<Booking> findConfirmedBookingsForNoShowCheck(LocalDateTime cutoffTime) {
-        return jpaBookingRepository.findConfirmedBookingsBeforeCutoff(cutoffTime);
+    public List<BookingSummary> findHistoryPage(Long userId, Booking.BookingStatus status,
+                                                LocalDateTime from, LocalDateTime to,
+                                                LocalDateTime beforeDate, Long beforeId, int limit) {
+        return jpaBookingRepository.findHistoryPage(userId, status, from, to, beforeDate, beforeId, Limit.of(limit));
+    }
+
+    @Override
+    public List<NoShowCandidate> lockNoShowCandidates(LocalDateTime cutoffTime, LocalDateTime afterDate, Long afterId,
+                                                      int shardIndex, int shardCount, int limit) {
+        return jpaBookingRepository.lockNoShowCandidates(cutoffTime, afterDate, afterId,
+                shardIndex, shardCount, Limit.of(limit));
+    }
+
+    @Override
+    public List<NoShowCandidate> lockNoShowCandidatesByIds(Collection<Long> ids, LocalDateTime cutoffTime) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaBookingRepository.lockNoShowCandidatesByIds(ids, cutoffTime);
+    }
+
+    @Override
+    public List<NoShowCandidate> findConfirmedBookingsFrom(LocalDateTime from) {
+        return jpaBookingRepository.findConfirmedBookingsFrom(from);
+    }
+
+    @Override
+    public int markAsNoShow(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaBookingRepository.markAsNoShow(ids, LocalDateTime.now());
+    }
+
+    @Override
+    public List<TransitionCandidate> lockExpiredPendingBookings(LocalDateTime createdBefore, int limit) {
+        return jpaBookingRepository.lockExpiredPendingBookings(createdBefore, Limit.of(limit));
+    }
+
+    @Override
+    public List<TransitionCandidate> lockExpiredPendingBookingsByIds(Collection<Long> ids, LocalDateTime createdBefore) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaBookingRepository.lockExpiredPendingBookingsByIds(ids, createdBefore);
+    }
+
+    @Override
+    public List<PendingPayment> findPendingPayments() {
+        return jpaBookingRepository.findPendingPayments();
+    }
+
+    @Override
+    public List<TransitionCandidate> lockTransitionCandidates(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaBookingRepository.lockTransitionCandidates(ids);
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, Booking.BookingStatus status) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaBookingRepository.updateStatus(ids, status, LocalDateTime.now());
+    }
+
+    @Override
+    public Map<SlotKey, Long> countSlotReservationsFrom(LocalDateTime from) {
+        List<Booking.BookingStatus> holdingStatuses = Arrays.stream(Booking.BookingStatus.values())
+                .filter(Booking.BookingStatus::holdsSlot)
+                .toList();
+
+        Map<SlotKey, Long> counts = new HashMap<>();
+        for (SlotReservationCount row : jpaBookingRepository.countSlotReservations(holdingStatuses, from)) {
+            SlotKey key = SlotKey.of(row.getBookingType(), row.getTimeSlot(), row.getBookingDate(),
+                    row.getTableId(), row.getZoneId());
+            counts.merge(key, row.getReserved(), Long::sum);
+        }
+        return counts;
     }
 
     @Override
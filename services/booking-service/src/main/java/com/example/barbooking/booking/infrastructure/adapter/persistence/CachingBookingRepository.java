@@ -0,0 +1,210 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
+import com.example.barbooking.booking.domain.port.BookingRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Near-cache over {@link BookingRepositoryAdapter} for single-booking reads.
+ * Writes evict the booking locally and, once the transaction commits, on every other
+ * node through the {@link #INVALIDATION_CHANNEL} Redis channel. Cached entries are
+ * copies, so callers never share a mutable entity.
+ */
+@Component
+@Primary
+@Slf4j
+public class CachingBookingRepository implements BookingRepository {
+
+    public static final String INVALIDATION_CHANNEL = "booking:cache:invalidate";
+
+    private final BookingRepositoryAdapter delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, Booking> cache;
+
+    public CachingBookingRepository(
+            BookingRepositoryAdapter delegate,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${booking.cache.max-size:10000}") long maxSize,
+            @Value("${booking.cache.ttl-seconds:30}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "bookings");
+    }
+
+    @Override
+    public Booking save(Booking booking) {
+        Booking saved = delegate.save(booking);
+        invalidate(List.of(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public Optional<Booking> findById(Long id) {
+        Booking cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached.toBuilder().build());
+        }
+        Optional<Booking> booking = delegate.findById(id);
+        booking.ifPresent(found -> cache.put(id, found.toBuilder().build()));
+        return booking;
+    }
+
+    @Override
+    public Optional<Booking> findByIdForUpdate(Long id) {
+        return delegate.findByIdForUpdate(id);
+    }
+
+    @Override
+    public List<Booking> findByUserId(Long userId) {
+        return delegate.findByUserId(userId);
+    }
+
+    @Override
+    public List<Booking> findByStatus(Booking.BookingStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<BookingSummary> findHistoryPage(Long userId, Booking.BookingStatus status,
+                                                LocalDateTime from, LocalDateTime to,
+                                                LocalDateTime beforeDate, Long beforeId, int limit) {
+        return delegate.findHistoryPage(userId, status, from, to, beforeDate, beforeId, limit);
+    }
+
+    @Override
+    public List<NoShowCandidate> lockNoShowCandidates(LocalDateTime cutoffTime, LocalDateTime afterDate, Long afterId,
+                                                      int shardIndex, int shardCount, int limit) {
+        return delegate.lockNoShowCandidates(cutoffTime, afterDate, afterId, shardIndex, shardCount, limit);
+    }
+
+    @Override
+    public List<NoShowCandidate> lockNoShowCandidatesByIds(Collection<Long> ids, LocalDateTime cutoffTime) {
+        return delegate.lockNoShowCandidatesByIds(ids, cutoffTime);
+    }
+
+    @Override
+    public List<NoShowCandidate> findConfirmedBookingsFrom(LocalDateTime from) {
+        return delegate.findConfirmedBookingsFrom(from);
+    }
+
+    @Override
+    public int markAsNoShow(Collection<Long> ids) {
+        int updated = delegate.markAsNoShow(ids);
+        invalidate(ids);
+        return updated;
+    }
+
+    @Override
+    public List<TransitionCandidate> lockExpiredPendingBookings(LocalDateTime createdBefore, int limit) {
+        return delegate.lockExpiredPendingBookings(createdBefore, limit);
+    }
+
+    @Override
+    public List<TransitionCandidate> lockExpiredPendingBookingsByIds(Collection<Long> ids, LocalDateTime createdBefore) {
+        return delegate.lockExpiredPendingBookingsByIds(ids, createdBefore);
+    }
+
+    @Override
+    public List<PendingPayment> findPendingPayments() {
+        return delegate.findPendingPayments();
+    }
+
+    @Override
+    public List<TransitionCandidate> lockTransitionCandidates(Collection<Long> ids) {
+        return delegate.lockTransitionCandidates(ids);
+    }
+
+    @Override
+    public int updateStatus(Collection<Long> ids, Booking.BookingStatus status) {
+        int updated = delegate.updateStatus(ids, status);
+        invalidate(ids);
+        return updated;
+    }
+
+    @Override
+    public Map<SlotKey, Long> countSlotReservationsFrom(LocalDateTime from) {
+        return delegate.countSlotReservationsFrom(from);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        invalidate(List.of(id));
+    }
+
+    /**
+     * Drop bookings from this node's cache only; called for invalidations received from other nodes.
+     */
+    public void evictLocal(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    private void invalidate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> evicted = List.copyOf(ids);
+        cache.invalidateAll(evicted);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            broadcast(evicted);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Evict again: a concurrent reader may have cached the pre-commit row
+                cache.invalidateAll(evicted);
+                broadcast(evicted);
+            }
+        });
+    }
+
+    private void broadcast(List<Long> ids) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, joinIds(ids));
+        } catch (Exception e) {
+            // Other nodes fall back to the TTL
+            log.warn("Failed to publish booking cache invalidation for {}: {}", ids, e.getMessage());
+        }
+    }
+
+    private static String joinIds(List<Long> ids) {
+        StringBuilder message = new StringBuilder();
+        for (Long id : ids) {
+            if (!message.isEmpty()) {
+                message.append(',');
+            }
+            message.append(id);
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import com.example.barbooking.booking.application.SlotInventory;
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.port.BookingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Capacity counters in the slot_reservations table, shared by every booking-service replica.
+ * A reservation is a conditional increment in the caller's transaction: the row lock keeps
+ * other nodes out of that slot until the booking commits, and a rollback undoes it.
+ * On startup each slot from today on is recounted from the bookings table.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.inventory.store", havingValue = "database")
+@Slf4j
+public class JdbcSlotInventory implements SlotInventory {
+
+    private static final String SLOT_MATCH = "slot_date = ? AND time_slot = ? AND booking_type = ? AND resource_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate reconcileTransaction;
+    private final int tableCapacity;
+    private final int zoneCapacity;
+    private final String holdingStatuses;
+
+    public JdbcSlotInventory(
+            JdbcTemplate jdbcTemplate,
+            BookingRepository bookingRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${booking.inventory.table-capacity:1}") int tableCapacity,
+            @Value("${booking.inventory.zone-capacity:40}") int zoneCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        this.reconcileTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tableCapacity = tableCapacity;
+        this.zoneCapacity = zoneCapacity;
+        this.holdingStatuses = Arrays.stream(Booking.BookingStatus.values())
+                .filter(Booking.BookingStatus::holdsSlot)
+                .map(status -> "'" + status.name() + "'")
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Recount every slot that has bookings or a counter from today on, one short transaction per
+     * slot. Safe while other nodes take bookings: the counter row is locked before counting.
+     */
+    @PostConstruct
+    public void reconcile() {
+        LocalDate today = LocalDate.now();
+        Set<SlotKey> slots = new HashSet<>(bookingRepository.countSlotReservationsFrom(today.atStartOfDay()).keySet());
+        slots.addAll(jdbcTemplate.query(
+                "SELECT slot_date, time_slot, booking_type, resource_id FROM slot_reservations WHERE slot_date >= ?",
+                (rs, row) -> new SlotKey(rs.getObject("slot_date", LocalDate.class),
+                        Booking.TimeSlot.valueOf(rs.getString("time_slot")),
+                        Booking.BookingType.valueOf(rs.getString("booking_type")),
+                        rs.getLong("resource_id")),
+                today));
+
+        int corrected = 0;
+        for (SlotKey key : slots) {
+            Boolean changed = reconcileTransaction.execute(status -> recount(key));
+            if (Boolean.TRUE.equals(changed)) {
+                corrected++;
+            }
+        }
+        log.info("Slot inventory reconciled {} slots, {} corrected", slots.size(), corrected);
+    }
+
+    @Override
+    public boolean reserve(SlotKey key) {
+        lockRow(key);
+        return jdbcTemplate.update("UPDATE slot_reservations SET reserved = reserved + 1 WHERE " + SLOT_MATCH +
+                " AND reserved < ?", slotArgs(key, capacityOf(key))) == 1;
+    }
+
+    @Override
+    public void release(SlotKey key) {
+        jdbcTemplate.update("UPDATE slot_reservations SET reserved = reserved - 1 WHERE " + SLOT_MATCH +
+                " AND reserved > 0", slotArgs(key));
+    }
+
+    @Override
+    public int remaining(SlotKey key) {
+        List<Integer> reserved = jdbcTemplate.queryForList(
+                "SELECT reserved FROM slot_reservations WHERE " + SLOT_MATCH, Integer.class, slotArgs(key));
+        return capacityOf(key) - (reserved.isEmpty() ? 0 : reserved.get(0));
+    }
+
+    @Scheduled(cron = "0 0 4 * * *") // Drop slots from previous days every night, idempotent across nodes
+    public void evictPastSlots() {
+        jdbcTemplate.update("DELETE FROM slot_reservations WHERE slot_date < ?", LocalDate.now());
+    }
+
+    private boolean recount(SlotKey key) {
+        lockRow(key);
+        Integer counted = jdbcTemplate.queryForObject(
+                "SELECT reserved FROM slot_reservations WHERE " + SLOT_MATCH + " FOR UPDATE", Integer.class, slotArgs(key));
+
+        // The lock is held and nothing was read before it, so this count sees every committed booking
+        String resourceColumn = key.bookingType() == Booking.BookingType.PREMIUM ? "table_id" : "zone_id";
+        Integer actual = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE booking_type = ? AND time_slot = ? AND " + resourceColumn + " = ? " +
+                "AND booking_date >= ? AND booking_date < ? AND status IN (" + holdingStatuses + ")",
+                Integer.class, key.bookingType().name(), key.timeSlot().name(), key.resourceId(),
+                key.date().atStartOfDay(), key.date().plusDays(1).atStartOfDay());
+        if (actual.equals(counted)) {
+            return false;
+        }
+        jdbcTemplate.update("UPDATE slot_reservations SET reserved = ? WHERE " + SLOT_MATCH,
+                actual, key.date(), key.timeSlot().name(), key.bookingType().name(), key.resourceId());
+        return true;
+    }
+
+    /**
+     * Create the row if needed and take its exclusive lock. INSERT IGNORE would only take a shared
+     * lock on an existing row, and two requests upgrading it to exclusive would deadlock.
+     */
+    private void lockRow(SlotKey key) {
+        jdbcTemplate.update("INSERT INTO slot_reservations (slot_date, time_slot, booking_type, resource_id, reserved) " +
+                "VALUES (?, ?, ?, ?, 0) ON DUPLICATE KEY UPDATE reserved = reserved", slotArgs(key));
+    }
+
+    private int capacityOf(SlotKey key) {
+        return key.bookingType() == Booking.BookingType.PREMIUM ? tableCapacity : zoneCapacity;
+    }
+
+    // Bind values for SLOT_MATCH, followed by any extra parameters
+    private static Object[] slotArgs(SlotKey key, Object... extra) {
+        Object[] args = Arrays.copyOf(new Object[] {key.date(), key.timeSlot().name(), key.bookingType().name(),
+                key.resourceId()}, 4 + extra.length);
+        System.arraycopy(extra, 0, args, 4, extra.length);
+        return args;
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.barbooking.booking.infrastructure.adapter.persistence;
 
 import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JpaBookingRepository extends JpaRepository<Booking, Long> {
@@ -16,7 +26,95 @@ public interface JpaBookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByStatus(Booking.BookingStatus status);
 
-    @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDate < :cutoffTime")
-    List<Booking> findConfirmedBookingsBeforeCutoff(@Param("cutoffTime") LocalDateTime cutoffTime);
+    @Query("SELECT new com.example.barbooking.booking.domain.model.BookingSummary(" +
+           "b.id, b.userId, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate, b.guestCount, " +
+           "b.fee, b.status, b.paymentId, b.qrToken, b.checkedInAt, b.createdAt) " +
+           "FROM Booking b WHERE b.userId = :userId " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:from IS NULL OR b.bookingDate >= :from) " +
+           "AND (:to IS NULL OR b.bookingDate < :to) " +
+           "AND (b.bookingDate < :beforeDate OR (b.bookingDate = :beforeDate AND b.id < :beforeId)) " +
+           "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<BookingSummary> findHistoryPage(@Param("userId") Long userId,
+                                         @Param("status") Booking.BookingStatus status,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("beforeDate") LocalDateTime beforeDate,
+                                         @Param("beforeId") Long beforeId,
+                                         Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.barbooking.booking.domain.model.NoShowCandidate(" +
+           "b.id, b.userId, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDate < :cutoffTime " +
+           "AND (b.bookingDate > :afterDate OR (b.bookingDate = :afterDate AND b.id > :afterId)) " +
+           "AND MOD(b.id, :shardCount) = :shardIndex " +
+           "ORDER BY b.bookingDate, b.id")
+    List<NoShowCandidate> lockNoShowCandidates(@Param("cutoffTime") LocalDateTime cutoffTime,
+                                               @Param("afterDate") LocalDateTime afterDate,
+                                               @Param("afterId") Long afterId,
+                                               @Param("shardIndex") int shardIndex,
+                                               @Param("shardCount") int shardCount,
+                                               Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.barbooking.booking.domain.model.NoShowCandidate(" +
+           "b.id, b.userId, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.id IN :ids AND b.status = 'CONFIRMED' AND b.bookingDate <= :cutoffTime " +
+           "ORDER BY b.id")
+    List<NoShowCandidate> lockNoShowCandidatesByIds(@Param("ids") Collection<Long> ids,
+                                                    @Param("cutoffTime") LocalDateTime cutoffTime);
+
+    @Query("SELECT new com.example.barbooking.booking.domain.model.NoShowCandidate(" +
+           "b.id, b.userId, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.status = 'CONFIRMED' AND b.bookingDate >= :from")
+    List<NoShowCandidate> findConfirmedBookingsFrom(@Param("from") LocalDateTime from);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'NO_SHOW', b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status = 'CONFIRMED'")
+    int markAsNoShow(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.barbooking.booking.domain.model.TransitionCandidate(" +
+           "b.id, b.userId, b.status, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.status = 'PENDING' AND b.createdAt <= :createdBefore ORDER BY b.id")
+    List<TransitionCandidate> lockExpiredPendingBookings(@Param("createdBefore") LocalDateTime createdBefore,
+                                                         Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.barbooking.booking.domain.model.TransitionCandidate(" +
+           "b.id, b.userId, b.status, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' AND b.createdAt <= :createdBefore " +
+           "ORDER BY b.id")
+    List<TransitionCandidate> lockExpiredPendingBookingsByIds(@Param("ids") Collection<Long> ids,
+                                                              @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Query("SELECT new com.example.barbooking.booking.domain.model.PendingPayment(b.id, b.createdAt) " +
+           "FROM Booking b WHERE b.status = 'PENDING'")
+    List<PendingPayment> findPendingPayments();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.barbooking.booking.domain.model.TransitionCandidate(" +
+           "b.id, b.userId, b.status, b.tableId, b.zoneId, b.bookingType, b.timeSlot, b.bookingDate) " +
+           "FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<TransitionCandidate> lockTransitionCandidates(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = :now WHERE b.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") Booking.BookingStatus status,
+                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.bookingType AS bookingType, b.timeSlot AS timeSlot, b.bookingDate AS bookingDate, " +
+           "b.tableId AS tableId, b.zoneId AS zoneId, COUNT(b) AS reserved " +
+           "FROM Booking b WHERE b.status IN :statuses AND b.bookingDate >= :from " +
+           "GROUP BY b.bookingType, b.timeSlot, b.bookingDate, b.tableId, b.zoneId")
+    List<SlotReservationCount> countSlotReservations(@Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                                     @Param("from") LocalDateTime from);
 }
 
@@ -2,13 +2,46 @@ package com.example.barbooking.booking.infrastructure.adapter.persistence;
 
 import com.example.barbooking.booking.domain.model.OutboxEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface JpaOutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
 
     List<OutboxEvent> findByProcessedFalseOrderByCreatedAtAsc();
+
+    @Query(value = "SELECT * FROM outbox_events FORCE INDEX (idx_outbox_pending) " +
+                   "WHERE processed = false ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimUnprocessedBatch(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE id IN (:ids) AND processed = false ORDER BY id FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimUnprocessedByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processed = true, e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Query(value = "SELECT id FROM outbox_events WHERE processed = true AND processed_at < :cutoff " +
+                   "ORDER BY processed_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> findProcessedIdsBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_events_archive (id, event_type, payload, processed_at, created_at) " +
+                   "SELECT id, event_type, payload, processed_at, created_at FROM outbox_events WHERE id IN (:ids)",
+           nativeQuery = true)
+    int archiveByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,79 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintains monthly partitions (pYYYYMM) of outbox_events_archive.
+ * New months are split off the p_future catch-all partition; expired months are dropped whole.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxArchivePartitionManager {
+
+    private static final String ARCHIVE_TABLE = "outbox_events_archive";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void ensurePartitionsThrough(YearMonth lastMonth) {
+        YearMonth month = latestPartitionMonth(existingPartitions());
+        month = month == null ? YearMonth.now() : month.plusMonths(1);
+
+        while (!month.isAfter(lastMonth)) {
+            jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                    "PARTITION " + partitionName(month) + " VALUES LESS THAN (TO_DAYS('" + month.plusMonths(1).atDay(1) + "')), " +
+                    "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            log.info("Created archive partition {}", partitionName(month));
+            month = month.plusMonths(1);
+        }
+    }
+
+    public void dropPartitionsBefore(YearMonth cutoff) {
+        for (String partition : existingPartitions()) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(cutoff)) {
+                jdbcTemplate.execute("ALTER TABLE " + ARCHIVE_TABLE + " DROP PARTITION " + partition);
+                log.info("Dropped archive partition {}", partition);
+            }
+        }
+    }
+
+    private List<String> existingPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, ARCHIVE_TABLE);
+    }
+
+    private YearMonth latestPartitionMonth(List<String> partitions) {
+        YearMonth latest = null;
+        for (String partition : partitions) {
+            YearMonth month = monthOf(partition);
+            if (month != null && (latest == null || month.isAfter(latest))) {
+                latest = month;
+            }
+        }
+        return latest;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (FUTURE_PARTITION.equals(partition)) {
+            return null;
+        }
+        return YearMonth.parse(partition.substring(1), PARTITION_SUFFIX);
+    }
+}
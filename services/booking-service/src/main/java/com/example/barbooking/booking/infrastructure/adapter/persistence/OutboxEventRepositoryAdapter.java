@@ -5,6 +5,8 @@ import com.example.barbooking.booking.domain.port.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Component
@@ -18,11 +20,59 @@ public class OutboxEventRepositoryAdapter implements OutboxEventRepository {
         return jpaOutboxEventRepository.save(event);
     }
 
+    @Override
+    public List<OutboxEvent> saveAll(List<OutboxEvent> events) {
+        // Pooled ids + hibernate.jdbc.batch_size turn this into batched (rewritten multi-row) inserts
+        return jpaOutboxEventRepository.saveAll(events);
+    }
+
     @Override
     public List<OutboxEvent> findUnprocessedEvents() {
         return jpaOutboxEventRepository.findByProcessedFalseOrderByCreatedAtAsc();
     }
 
+    @Override
+    public List<OutboxEvent> claimUnprocessedBatch(int limit) {
+        return jpaOutboxEventRepository.claimUnprocessedBatch(limit);
+    }
+
+    @Override
+    public List<OutboxEvent> claimUnprocessedByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaOutboxEventRepository.claimUnprocessedByIds(ids);
+    }
+
+    @Override
+    public int markProcessed(Collection<Long> ids, LocalDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaOutboxEventRepository.markProcessed(ids, processedAt);
+    }
+
+    @Override
+    public List<Long> findProcessedIdsBefore(LocalDateTime cutoff, int limit) {
+        return jpaOutboxEventRepository.findProcessedIdsBefore(cutoff, limit);
+    }
+
+    @Override
+    public int archiveByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaOutboxEventRepository.archiveByIds(ids);
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaOutboxEventRepository.deleteByIds(ids);
+    }
+
     @Override
     public void deleteById(Long id) {
         jpaOutboxEventRepository.deleteById(id);
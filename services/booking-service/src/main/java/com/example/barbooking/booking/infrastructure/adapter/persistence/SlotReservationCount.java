@@ -0,0 +1,23 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import com.example.barbooking.booking.domain.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for aggregated slot reservations, used to rebuild the in-memory inventory.
+ */
+public interface SlotReservationCount {
+
+    Booking.BookingType getBookingType();
+
+    Booking.TimeSlot getTimeSlot();
+
+    LocalDateTime getBookingDate();
+
+    Long getTableId();
+
+    Long getZoneId();
+
+    Long getReserved();
+}
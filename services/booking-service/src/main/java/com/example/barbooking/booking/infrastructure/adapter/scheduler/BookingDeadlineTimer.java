@@ -0,0 +1,149 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import com.example.barbooking.booking.application.BookingAwaitingPayment;
+import com.example.barbooking.booking.application.BookingConfirmed;
+import com.example.barbooking.booking.application.BookingManagementService;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import com.example.barbooking.booking.domain.model.PendingPayment;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires the two booking deadlines at their exact time: no-show marking at each confirmed booking's
+ * grace-period end, and cancellation of PENDING bookings whose payment deadline has passed.
+ * Deadlines are registered when the writing transaction commits and are reloaded from the
+ * database on startup; the Quartz {@link NoShowDetectionJob} and {@link PaymentExpiryJob} only
+ * sweep up anything missed.
+ * With several replicas each node holds the bookings it wrote plus everything pending when it
+ * started, so a booking can fire on more than one node. That is harmless: both transitions lock the
+ * rows and only touch bookings still in the expected status, so the second node finds nothing to do.
+ */
+@Component
+@Slf4j
+public class BookingDeadlineTimer {
+
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 60;
+
+    private final BookingManagementService bookingManagementService;
+    private final TimingWheel<Deadline> wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    private final Set<Deadline> scheduled = ConcurrentHashMap.newKeySet();
+    private final Queue<Deadline> overdue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("booking-deadline-timer-"));
+    private final int pageSize;
+    private final Duration paymentDeadline;
+
+    public BookingDeadlineTimer(
+            BookingManagementService bookingManagementService,
+            @Value("${booking.no-show.page-size:500}") int pageSize,
+            @Value("${booking.payment.deadline-minutes:15}") long paymentDeadlineMinutes) {
+        this.bookingManagementService = bookingManagementService;
+        this.pageSize = pageSize;
+        this.paymentDeadline = Duration.ofMinutes(paymentDeadlineMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<NoShowCandidate> confirmed = bookingManagementService.getConfirmedBookingsAwaitingNoShowCheck();
+        confirmed.forEach(booking -> schedule(new Deadline(Kind.NO_SHOW, booking.id()),
+                booking.timeSlot().getGracePeriodEnd(booking.bookingDate())));
+        List<PendingPayment> pending = bookingManagementService.getBookingsAwaitingPayment();
+        pending.forEach(booking -> schedule(new Deadline(Kind.PAYMENT, booking.id()),
+                booking.createdAt().plus(paymentDeadline)));
+        log.info("Booking deadline timer loaded {} confirmed and {} unpaid bookings", confirmed.size(), pending.size());
+
+        ticker.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    @TransactionalEventListener
+    public void onBookingConfirmed(BookingConfirmed event) {
+        schedule(new Deadline(Kind.NO_SHOW, event.bookingId()), event.gracePeriodEnd());
+    }
+
+    @TransactionalEventListener
+    public void onBookingAwaitingPayment(BookingAwaitingPayment event) {
+        schedule(new Deadline(Kind.PAYMENT, event.bookingId()), event.createdAt().plus(paymentDeadline));
+    }
+
+    private void schedule(Deadline deadline, LocalDateTime at) {
+        if (!scheduled.add(deadline)) {
+            return;
+        }
+        long deadlineMs = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean added;
+        synchronized (wheel) {
+            added = wheel.schedule(deadline, deadlineMs);
+        }
+        if (!added) {
+            // Already past the deadline, handle it on the next tick
+            overdue.add(deadline);
+        }
+    }
+
+    private void tick() {
+        List<Deadline> due = new ArrayList<>();
+        synchronized (wheel) {
+            due.addAll(wheel.advanceTo(System.currentTimeMillis()));
+        }
+        Deadline deadline;
+        while ((deadline = overdue.poll()) != null) {
+            due.add(deadline);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        due.forEach(scheduled::remove);
+
+        List<Long> noShows = new ArrayList<>();
+        List<Long> unpaid = new ArrayList<>();
+        due.forEach(d -> (d.kind() == Kind.NO_SHOW ? noShows : unpaid).add(d.bookingId()));
+
+        try {
+            for (int from = 0; from < noShows.size(); from += pageSize) {
+                bookingManagementService.markBookingsAsNoShow(noShows.subList(from, Math.min(from + pageSize, noShows.size())));
+            }
+        } catch (Exception e) {
+            // The Quartz sweep will retry anything left CONFIRMED
+            log.error("Booking deadline timer failed to mark {} bookings as no-show: {}", noShows.size(), e.getMessage());
+        }
+        try {
+            LocalDateTime createdBefore = LocalDateTime.now().minus(paymentDeadline);
+            for (int from = 0; from < unpaid.size(); from += pageSize) {
+                bookingManagementService.expireUnpaidBookings(unpaid.subList(from, Math.min(from + pageSize, unpaid.size())),
+                        createdBefore);
+            }
+        } catch (Exception e) {
+            // The Quartz sweep will retry anything left PENDING
+            log.error("Booking deadline timer failed to expire {} unpaid bookings: {}", unpaid.size(), e.getMessage());
+        }
+    }
+
+    private enum Kind { NO_SHOW, PAYMENT }
+
+    private record Deadline(Kind kind, Long bookingId) {}
+}
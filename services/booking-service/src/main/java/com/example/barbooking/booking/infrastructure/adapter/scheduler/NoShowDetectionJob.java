@@ -1,36 +1,76 @@
 package com.example.barbooking.booking.infrastructure.adapter.scheduler;
 
 import com.example.barbooking.booking.application.BookingManagementService;
-import com.example.barbooking.booking.domain.model.Booking;
-import lombok.RequiredArgsConstructor;
+import com.example.barbooking.booking.domain.model.NoShowCandidate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
+import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Walks overdue confirmed bookings in (bookingDate, id) keyset order, one page per
+ * transaction, and marks each page as NO_SHOW in bulk.
+ * Each Quartz job instance owns one shard of booking ids, so clustered nodes split the work.
+ */
 @Component
-@RequiredArgsConstructor
+@DisallowConcurrentExecution
 @Slf4j
 public class NoShowDetectionJob implements Job {
 
+    public static final String SHARD_INDEX = "shardIndex";
+    public static final String SHARD_COUNT = "shardCount";
+
+    private static final LocalDateTime CURSOR_START = LocalDateTime.of(1970, 1, 2, 0, 0);
+
     private final BookingManagementService bookingManagementService;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+
+    public NoShowDetectionJob(
+            BookingManagementService bookingManagementService,
+            MeterRegistry meterRegistry,
+            @Value("${booking.no-show.page-size:500}") int pageSize) {
+        this.bookingManagementService = bookingManagementService;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+    }
 
     @Override
     public void execute(JobExecutionContext context) {
-        log.info("Starting No-Show Detection Job");
-
-        List<Booking> bookingsToCheck = bookingManagementService.getBookingsForNoShowCheck();
-        
-        for (Booking booking : bookingsToCheck) {
-            if (booking.isNoShowCheckRequired()) {
-                log.warn("Marking booking {} as NO_SHOW for user {}", booking.getId(), booking.getUserId());
-                bookingManagementService.markBookingAsNoShow(booking.getId());
+        JobDataMap data = context.getMergedJobDataMap();
+        int shardIndex = data.containsKey(SHARD_INDEX) ? data.getInt(SHARD_INDEX) : 0;
+        int shardCount = data.containsKey(SHARD_COUNT) ? data.getInt(SHARD_COUNT) : 1;
+        String shard = String.valueOf(shardIndex);
+
+        log.info("Starting No-Show Detection Job for shard {}/{}", shardIndex, shardCount);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime afterDate = CURSOR_START;
+        Long afterId = 0L;
+        int marked = 0;
+        List<NoShowCandidate> page;
+        do {
+            page = bookingManagementService.markOverdueBookingsAsNoShow(afterDate, afterId, shardIndex, shardCount, pageSize);
+            if (!page.isEmpty()) {
+                NoShowCandidate last = page.get(page.size() - 1);
+                afterDate = last.bookingDate();
+                afterId = last.id();
+                marked += page.size();
             }
-        }
+        } while (page.size() == pageSize);
 
-        log.info("No-Show Detection Job completed. Checked {} bookings", bookingsToCheck.size());
+        sample.stop(meterRegistry.timer("booking.noshow.sweep.duration", "shard", shard));
+        meterRegistry.counter("booking.noshow.sweep.marked", "shard", shard).increment(marked);
+
+        log.info("No-Show Detection Job completed for shard {}/{}. Marked {} bookings as NO_SHOW",
+                shardIndex, shardCount, marked);
     }
 }
-
@@ -0,0 +1,65 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import com.example.barbooking.booking.infrastructure.adapter.persistence.OutboxArchivePartitionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Adds next month's archive partition and drops expired ones. Runs as a Quartz job so that in
+ * clustered mode the partition DDL executes on one node at a time. Both steps derive their work
+ * from the partitions that already exist, so a rerun after a failure picks up where it stopped.
+ * Failures are logged and counted here and never hold up {@link OutboxRetentionJob}.
+ */
+@Component
+@DisallowConcurrentExecution
+@Slf4j
+public class OutboxPartitionMaintenanceJob implements Job {
+
+    private final OutboxArchivePartitionManager partitionManager;
+    private final MeterRegistry meterRegistry;
+    private final OutboxRetentionJob.Mode mode;
+    private final int archiveMonths;
+
+    public OutboxPartitionMaintenanceJob(
+            OutboxArchivePartitionManager partitionManager,
+            MeterRegistry meterRegistry,
+            @Value("${outbox.retention.mode:ARCHIVE}") OutboxRetentionJob.Mode mode,
+            @Value("${outbox.retention.archive-months:6}") int archiveMonths) {
+        this.partitionManager = partitionManager;
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.archiveMonths = archiveMonths;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) {
+        if (mode != OutboxRetentionJob.Mode.ARCHIVE) {
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        try {
+            partitionManager.ensurePartitionsThrough(now.plusMonths(1));
+        } catch (DataAccessException e) {
+            // Rows keep landing in p_future meanwhile, nothing is lost
+            fail("create", e);
+        }
+        try {
+            partitionManager.dropPartitionsBefore(now.minusMonths(archiveMonths));
+        } catch (DataAccessException e) {
+            fail("drop", e);
+        }
+    }
+
+    private void fail(String step, DataAccessException e) {
+        log.error("Outbox archive partition {} failed, retrying on the next run: {}", step, e.getMessage());
+        meterRegistry.counter("outbox.archive.partition.failures", "step", step).increment();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import com.example.barbooking.booking.domain.port.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves processed outbox events out of outbox_events in small chunks, either into
+ * the monthly-partitioned archive table or straight to deletion, so the live table
+ * only holds pending and recently processed rows. Runs on every node; chunks are claimed
+ * with SKIP LOCKED so nodes never move the same rows. Archive partitions are maintained
+ * separately by {@link OutboxPartitionMaintenanceJob}.
+ */
+@Component
+@Slf4j
+public class OutboxRetentionJob {
+
+    public enum Mode {
+        ARCHIVE,
+        DELETE
+    }
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Mode mode;
+    private final long keepProcessedHours;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    public OutboxRetentionJob(
+            OutboxEventRepository outboxEventRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${outbox.retention.mode:ARCHIVE}") Mode mode,
+            @Value("${outbox.retention.keep-processed-hours:24}") long keepProcessedHours,
+            @Value("${outbox.retention.chunk-size:1000}") int chunkSize,
+            @Value("${outbox.retention.max-chunks-per-run:100}") int maxChunksPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.mode = mode;
+        this.keepProcessedHours = keepProcessedHours;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(cron = "${outbox.retention.cron:0 */10 * * * *}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(keepProcessedHours);
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int moved = moveChunk(cutoff);
+            total += moved;
+            if (moved < chunkSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Outbox retention ({}) removed {} processed events", mode, total);
+        }
+    }
+
+    private int moveChunk(LocalDateTime cutoff) {
+        // One short transaction per chunk keeps row locks away from the relay
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxEventRepository.findProcessedIdsBefore(cutoff, chunkSize);
+            if (mode == Mode.ARCHIVE) {
+                outboxEventRepository.archiveByIds(ids);
+            }
+            return outboxEventRepository.deleteByIds(ids);
+        });
+        return moved == null ? 0 : moved;
+    }
+}
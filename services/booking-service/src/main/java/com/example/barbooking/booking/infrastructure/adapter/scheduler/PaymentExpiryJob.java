@@ -0,0 +1,59 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import com.example.barbooking.booking.application.BookingManagementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Cancels PENDING bookings past their payment deadline, one page per transaction, and releases
+ * their slots. {@link BookingDeadlineTimer} normally does this at the exact deadline; this sweep
+ * catches whatever it missed. Cancelled bookings leave the PENDING set, so no cursor is needed.
+ */
+@Component
+@DisallowConcurrentExecution
+@Slf4j
+public class PaymentExpiryJob implements Job {
+
+    private final BookingManagementService bookingManagementService;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final Duration paymentDeadline;
+
+    public PaymentExpiryJob(
+            BookingManagementService bookingManagementService,
+            MeterRegistry meterRegistry,
+            @Value("${booking.no-show.page-size:500}") int pageSize,
+            @Value("${booking.payment.deadline-minutes:15}") long paymentDeadlineMinutes) {
+        this.bookingManagementService = bookingManagementService;
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.paymentDeadline = Duration.ofMinutes(paymentDeadlineMinutes);
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime createdBefore = LocalDateTime.now().minus(paymentDeadline);
+        int expired = 0;
+        int page;
+        do {
+            page = bookingManagementService.expireUnpaidBookings(createdBefore, pageSize);
+            expired += page;
+        } while (page == pageSize);
+
+        sample.stop(meterRegistry.timer("booking.payment.expiry.sweep.duration"));
+        meterRegistry.counter("booking.payment.expiry.sweep.expired").increment(expired);
+        if (expired > 0) {
+            log.info("Payment expiry sweep cancelled {} unpaid bookings", expired);
+        }
+    }
+}
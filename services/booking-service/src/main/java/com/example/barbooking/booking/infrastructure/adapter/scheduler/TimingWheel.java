@@ -0,0 +1,120 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Hierarchical timing wheel. The lowest level has {@code wheelSize} buckets of
+ * {@code tickMs}; deadlines further out go to lazily created overflow levels whose
+ * tick is the full span of the level below, and cascade down as time advances.
+ * Only non-empty buckets are queued, so advancing past idle hours costs nothing.
+ * Deadlines are rounded up to the next tick, so items never fire early.
+ * Not thread-safe; callers serialize access.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final List<Bucket<T>> buckets;
+    private final PriorityQueue<Bucket<T>> queue;
+    private long currentTime;
+    private TimingWheel<T> overflowWheel;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        this(tickMs, wheelSize, startMs, new PriorityQueue<>((a, b) -> Long.compare(a.expiration, b.expiration)));
+    }
+
+    private TimingWheel(long tickMs, int wheelSize, long startMs, PriorityQueue<Bucket<T>> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        this.currentTime = startMs - (startMs % tickMs);
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    /**
+     * Schedule an item. Returns false when the deadline has already passed, in which
+     * case the caller should handle the item immediately.
+     */
+    public boolean schedule(T item, long deadlineMs) {
+        long roundedUp = Math.ceilDiv(deadlineMs, tickMs) * tickMs;
+        return add(new Entry<>(item, roundedUp));
+    }
+
+    /**
+     * Advance the wheel to {@code nowMs} and return every item whose deadline has been reached.
+     */
+    public List<T> advanceTo(long nowMs) {
+        List<T> expired = new ArrayList<>();
+        Bucket<T> bucket;
+        while ((bucket = queue.peek()) != null && bucket.expiration <= nowMs) {
+            queue.poll();
+            advanceClock(bucket.expiration);
+            for (Entry<T> entry : bucket.flush()) {
+                if (!add(entry)) {
+                    expired.add(entry.item);
+                }
+            }
+        }
+        advanceClock(nowMs);
+        return expired;
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    private boolean add(Entry<T> entry) {
+        if (entry.deadline < currentTime + tickMs) {
+            return false;
+        }
+        if (entry.deadline < currentTime + interval) {
+            long virtualId = entry.deadline / tickMs;
+            Bucket<T> bucket = buckets.get((int) (virtualId % wheelSize));
+            bucket.entries.add(entry);
+            long expiration = virtualId * tickMs;
+            if (bucket.expiration != expiration) {
+                bucket.expiration = expiration;
+                queue.add(bucket);
+            }
+            return true;
+        }
+        return overflowWheel().add(entry);
+    }
+
+    private void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            if (overflowWheel != null) {
+                overflowWheel.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel<T> overflowWheel() {
+        if (overflowWheel == null) {
+            overflowWheel = new TimingWheel<>(interval, wheelSize, currentTime, queue);
+        }
+        return overflowWheel;
+    }
+
+    private record Entry<T>(T item, long deadline) {}
+
+    private static final class Bucket<T> {
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = -1;
+
+        private List<Entry<T>> flush() {
+            List<Entry<T>> flushed = new ArrayList<>(entries);
+            entries.clear();
+            expiration = -1;
+            return flushed;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.barbooking.booking.infrastructure.adapter.web;
 
+import com.example.barbooking.booking.application.BookingHistoryPage;
 import com.example.barbooking.booking.application.BookingManagementService;
+import com.example.barbooking.booking.application.BulkTransitionResult;
 import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.BookingSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -57,11 +61,20 @@ public class BookingController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/bulk-transition")
+    public ResponseEntity<BulkTransitionResult> applyBulkTransition(@RequestBody BulkTransitionRequest request) {
+        try {
+            return ResponseEntity.ok(bookingManagementService.applyBulkTransition(request.transition(), request.bookingIds()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PostMapping("/{id}/payment-confirmed")
     public ResponseEntity<Void> confirmPaymentReceived(
             @PathVariable Long id,
             @RequestBody PaymentConfirmationRequest request) {
-        bookingManagementService.confirmPaymentReceived(id, request.transactionId());
+        bookingManagementService.confirmPaymentReceived(id, request.paymentId(), request.transactionId());
         return ResponseEntity.ok().build();
     }
 
@@ -78,6 +91,25 @@ public class BookingController {
         return ResponseEntity.ok(bookings.stream().map(BookingResponse::fromBooking).toList());
     }
 
+    @GetMapping("/user/{userId}/history")
+    public ResponseEntity<BookingHistoryResponse> getBookingHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        BookingHistoryPage page;
+        try {
+            page = bookingManagementService.getBookingHistory(userId, status, from, to, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return ResponseEntity.ok(new BookingHistoryResponse(
+                page.items().stream().map(BookingResponse::fromSummary).toList(),
+                page.nextCursor()));
+    }
+
     @GetMapping("/{id}/qr-token")
     public ResponseEntity<QRTokenResponse> getQRToken(@PathVariable Long id) {
         return bookingManagementService.getBookingById(id)
@@ -105,6 +137,8 @@ public class BookingController {
 
     public record ConfirmBookingRequest(Long paymentId) {}
 
+    public record BulkTransitionRequest(Booking.Transition transition, List<Long> bookingIds) {}
+
     public record PaymentConfirmationRequest(
             Long paymentId,
             String transactionId,
@@ -114,6 +148,8 @@ public class BookingController {
 
     public record QRTokenResponse(String qrToken) {}
 
+    public record BookingHistoryResponse(List<BookingResponse> items, String nextCursor) {}
+
     public record BookingResponse(
             Long id,
             Long userId,
@@ -148,6 +184,25 @@ public class BookingController {
                     booking.getCreatedAt()
             );
         }
+
+        public static BookingResponse fromSummary(BookingSummary booking) {
+            return new BookingResponse(
+                    booking.id(),
+                    booking.userId(),
+                    booking.tableId(),
+                    booking.zoneId(),
+                    booking.bookingType().name(),
+                    booking.timeSlot().name(),
+                    booking.bookingDate(),
+                    booking.guestCount(),
+                    booking.fee(),
+                    booking.status().name(),
+                    booking.paymentId(),
+                    booking.qrToken(),
+                    booking.checkedInAt(),
+                    booking.createdAt()
+            );
+        }
     }
 }
 
@@ -0,0 +1,33 @@
+package com.example.barbooking.booking.infrastructure.config;
+
+import com.example.barbooking.booking.infrastructure.adapter.persistence.CachingBookingRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+public class BookingCacheConfig {
+
+    @Bean
+    public RedisMessageListenerContainer bookingCacheInvalidationListener(
+            RedisConnectionFactory connectionFactory,
+            CachingBookingRepository cachingBookingRepository) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            List<Long> ids = Arrays.stream(new String(message.getBody(), StandardCharsets.UTF_8).split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .map(Long::valueOf)
+                    .toList();
+            cachingBookingRepository.evictLocal(ids);
+        }, new ChannelTopic(CachingBookingRepository.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
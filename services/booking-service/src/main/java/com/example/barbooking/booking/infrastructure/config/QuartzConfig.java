@@ -1,31 +1,114 @@
 package com.example.barbooking.booking.infrastructure.config;
 
 import com.example.barbooking.booking.infrastructure.adapter.scheduler.NoShowDetectionJob;
+import com.example.barbooking.booking.infrastructure.adapter.scheduler.OutboxPartitionMaintenanceJob;
+import com.example.barbooking.booking.infrastructure.adapter.scheduler.PaymentExpiryJob;
 import org.quartz.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.Properties;
 
 @Configuration
 public class QuartzConfig {
 
+    private static final String NO_SHOW_GROUP = "no-show";
+    private static final String OUTBOX_GROUP = "outbox";
+    private static final String PAYMENT_GROUP = "payment";
+
+    // Recovery sweep only; BookingDeadlineTimer marks bookings at their exact grace-period end
+    @Value("${booking.no-show.sweep-cron:0 */30 * * * ?}")
+    private String sweepCron;
+
+    // One job + trigger per shard; in clustered mode each trigger fires on a single node
+    @Value("${booking.no-show.shards:4}")
+    private int shardCount;
+
+    // Archive partition DDL, run by one node at a time instead of from every node's @Scheduled retention
+    @Value("${outbox.retention.partition-cron:0 5 * * * ?}")
+    private String partitionCron;
+
+    // Recovery sweep only; BookingDeadlineTimer cancels unpaid bookings at their exact payment deadline
+    @Value("${booking.payment.expiry-sweep-cron:0 */5 * * * ?}")
+    private String paymentExpiryCron;
+
     @Bean
-    public JobDetail noShowDetectionJobDetail() {
-        return JobBuilder.newJob(NoShowDetectionJob.class)
-                .withIdentity("noShowDetectionJob")
-                .withDescription("Detect no-show bookings past grace period")
-                .storeDurably()
-                .build();
+    public SchedulerFactoryBeanCustomizer scheduledJobs() {
+        return schedulerFactoryBean -> {
+            JobDetail[] jobs = new JobDetail[shardCount + 2];
+            Trigger[] triggers = new Trigger[shardCount + 2];
+
+            for (int shard = 0; shard < shardCount; shard++) {
+                jobs[shard] = JobBuilder.newJob(NoShowDetectionJob.class)
+                        .withIdentity("noShowDetectionJob-" + shard, NO_SHOW_GROUP)
+                        .withDescription("Sweep no-show bookings missed by the booking deadline timer")
+                        .usingJobData(NoShowDetectionJob.SHARD_INDEX, shard)
+                        .usingJobData(NoShowDetectionJob.SHARD_COUNT, shardCount)
+                        .storeDurably()
+                        .requestRecovery()
+                        .build();
+
+                triggers[shard] = TriggerBuilder.newTrigger()
+                        .forJob(jobs[shard])
+                        .withIdentity("noShowDetectionTrigger-" + shard, NO_SHOW_GROUP)
+                        .withDescription("Trigger for no-show detection shard " + shard)
+                        .withSchedule(CronScheduleBuilder.cronSchedule(sweepCron)
+                                .withMisfireHandlingInstructionDoNothing())
+                        .build();
+            }
+
+            jobs[shardCount] = JobBuilder.newJob(OutboxPartitionMaintenanceJob.class)
+                    .withIdentity("outboxPartitionMaintenanceJob", OUTBOX_GROUP)
+                    .withDescription("Create and drop monthly outbox archive partitions")
+                    .storeDurably()
+                    .build();
+            triggers[shardCount] = TriggerBuilder.newTrigger()
+                    .forJob(jobs[shardCount])
+                    .withIdentity("outboxPartitionMaintenanceTrigger", OUTBOX_GROUP)
+                    .withDescription("Trigger for outbox archive partition maintenance")
+                    .withSchedule(CronScheduleBuilder.cronSchedule(partitionCron)
+                            .withMisfireHandlingInstructionFireAndProceed())
+                    .build();
+
+            jobs[shardCount + 1] = JobBuilder.newJob(PaymentExpiryJob.class)
+                    .withIdentity("paymentExpiryJob", PAYMENT_GROUP)
+                    .withDescription("Cancel unpaid bookings missed by the booking deadline timer")
+                    .storeDurably()
+                    .requestRecovery()
+                    .build();
+            triggers[shardCount + 1] = TriggerBuilder.newTrigger()
+                    .forJob(jobs[shardCount + 1])
+                    .withIdentity("paymentExpiryTrigger", PAYMENT_GROUP)
+                    .withDescription("Trigger for the unpaid booking expiry sweep")
+                    .withSchedule(CronScheduleBuilder.cronSchedule(paymentExpiryCron)
+                            .withMisfireHandlingInstructionDoNothing())
+                    .build();
+
+            schedulerFactoryBean.setJobDetails(jobs);
+            schedulerFactoryBean.setTriggers(triggers);
+        };
     }
 
+    // Run jobs on virtual threads when spring.threads.virtual.enabled=true. The threadPool.* settings
+    // in application.yml only apply to SimpleThreadPool and would override the executor, so drop them.
     @Bean
-    public Trigger noShowDetectionTrigger() {
-        // Run every 5 minutes
-        return TriggerBuilder.newTrigger()
-                .forJob(noShowDetectionJobDetail())
-                .withIdentity("noShowDetectionTrigger")
-                .withDescription("Trigger for no-show detection")
-                .withSchedule(CronScheduleBuilder.cronSchedule("0 */5 * * * ?"))
-                .build();
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SchedulerFactoryBeanCustomizer quartzVirtualThreads(QuartzProperties quartzProperties) {
+        Properties properties = new Properties();
+        quartzProperties.getProperties().forEach((key, value) -> {
+            if (!key.startsWith("org.quartz.threadPool.")) {
+                properties.setProperty(key, value);
+            }
+        });
+        return schedulerFactoryBean -> {
+            schedulerFactoryBean.setQuartzProperties(properties);
+            schedulerFactoryBean.setTaskExecutor(new VirtualThreadTaskExecutor("quartz-"));
+        };
     }
 }
-
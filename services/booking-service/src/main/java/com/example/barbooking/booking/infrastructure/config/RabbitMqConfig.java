@@ -15,6 +15,11 @@ public class RabbitMqConfig {
     public static final String NO_SHOW_QUEUE = "booking.noshow.queue";
     public static final String NO_SHOW_ROUTING_KEY = "booking.noshow";
 
+    public static final String PAYMENT_EXCHANGE = "payment.exchange";
+    public static final String PAYMENT_COMPLETED_QUEUE = "booking.payment-completed.queue";
+    public static final String PAYMENT_COMPLETED_DLQ = "booking.payment-completed.dlq";
+    public static final String PAYMENT_COMPLETED_ROUTING_KEY = "payment.completed";
+
     @Bean
     public Exchange bookingExchange() {
         return ExchangeBuilder.topicExchange(BOOKING_EXCHANGE)
@@ -35,6 +40,35 @@ public class RabbitMqConfig {
                 .noargs();
     }
 
+    @Bean
+    public Exchange paymentExchange() {
+        return ExchangeBuilder.topicExchange(PAYMENT_EXCHANGE)
+                .durable(true)
+                .build();
+    }
+
+    @Bean
+    public Queue paymentCompletedQueue() {
+        // Rejected messages go to the dead-letter queue through the default exchange
+        return QueueBuilder.durable(PAYMENT_COMPLETED_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(PAYMENT_COMPLETED_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue paymentCompletedDeadLetterQueue() {
+        return QueueBuilder.durable(PAYMENT_COMPLETED_DLQ).build();
+    }
+
+    @Bean
+    public Binding paymentCompletedBinding(Queue paymentCompletedQueue, Exchange paymentExchange) {
+        return BindingBuilder.bind(paymentCompletedQueue)
+                .to(paymentExchange)
+                .with(PAYMENT_COMPLETED_ROUTING_KEY)
+                .noargs();
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
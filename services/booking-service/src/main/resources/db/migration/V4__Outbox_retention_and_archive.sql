@@ -0,0 +1,20 @@
+-- Relay scans walk (processed = false, id) so their cost follows pending rows, not history
+ALTER TABLE outbox_events
+    DROP INDEX idx_processed,
+    ADD INDEX idx_outbox_pending (processed, id),
+    ADD INDEX idx_outbox_retention (processed, processed_at);
+
+-- Archive for processed events, partitioned by month so old months can be dropped in O(1)
+-- Monthly partitions are split off p_future by OutboxArchivePartitionManager
+CREATE TABLE IF NOT EXISTS outbox_events_archive (
+    id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    processed_at DATETIME,
+    created_at DATETIME NOT NULL,
+    archived_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+PARTITION BY RANGE (TO_DAYS(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
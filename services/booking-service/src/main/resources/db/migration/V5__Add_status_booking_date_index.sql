@@ -0,0 +1,3 @@
+-- No-show detection scans CONFIRMED bookings by date; idx_status is a prefix of the new index
+CREATE INDEX idx_bookings_status_date ON bookings (status, booking_date);
+DROP INDEX idx_status ON bookings;
@@ -0,0 +1,3 @@
+-- Booking history pages by user in booking_date order; idx_user_id is a prefix of the new index
+CREATE INDEX idx_bookings_user_date ON bookings (user_id, booking_date);
+DROP INDEX idx_user_id ON bookings;
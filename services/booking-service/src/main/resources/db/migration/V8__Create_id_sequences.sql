@@ -0,0 +1,15 @@
+-- Pooled id allocation for bookings and outbox_events: Hibernate reserves blocks of 50 ids
+-- per round trip instead of relying on AUTO_INCREMENT, so inserts can be JDBC-batched.
+-- Each block is (next_val - 49 .. next_val), so seed past the highest id already handed out.
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'bookings', COALESCE(MAX(id), 0) + 100 FROM bookings;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'outbox_events', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM outbox_events),
+        (SELECT COALESCE(MAX(id), 0) FROM outbox_events_archive)) + 100;
@@ -0,0 +1,11 @@
+-- Shared capacity counters for booking.inventory.store=database (several replicas).
+-- A reservation increments its row inside the booking transaction, so the row lock serializes
+-- bookings for one slot across nodes. Rows are reconciled from bookings when a node starts.
+CREATE TABLE IF NOT EXISTS slot_reservations (
+    slot_date DATE NOT NULL,
+    time_slot VARCHAR(20) NOT NULL,
+    booking_type VARCHAR(20) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    reserved INT NOT NULL,
+    PRIMARY KEY (slot_date, time_slot, booking_type, resource_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,30 @@
+package com.example.barbooking.booking.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingHistoryCursorTest {
+
+    @Test
+    void roundTripsThroughToken() {
+        BookingHistoryCursor cursor = new BookingHistoryCursor(LocalDateTime.of(2024, 5, 17, 21, 0), 4213L);
+
+        assertThat(BookingHistoryCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void blankTokenStartsFromNewest() {
+        assertThat(BookingHistoryCursor.decode(null)).isEqualTo(BookingHistoryCursor.START);
+        assertThat(BookingHistoryCursor.decode("")).isEqualTo(BookingHistoryCursor.START);
+    }
+
+    @Test
+    void rejectsMalformedToken() {
+        assertThatThrownBy(() -> BookingHistoryCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
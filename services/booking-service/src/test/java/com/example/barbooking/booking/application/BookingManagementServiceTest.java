@@ -0,0 +1,79 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.OutboxEvent;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.model.TransitionCandidate;
+import com.example.barbooking.booking.domain.port.BookingRepository;
+import com.example.barbooking.booking.domain.port.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingManagementServiceTest {
+
+    private final LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    private final SlotKey table = SlotKey.of(Booking.BookingType.PREMIUM, Booking.TimeSlot.SLOT_21_00, tomorrow, 7L, null);
+
+    private BookingRepository bookingRepository;
+    private OutboxEventRepository outboxEventRepository;
+    private InMemorySlotInventory slotInventory;
+    private BookingManagementService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        when(bookingRepository.countSlotReservationsFrom(any())).thenReturn(Map.of());
+        when(bookingRepository.save(any())).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(1L);
+            return booking;
+        });
+        when(outboxEventRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        OutboxEventFactory outboxEventFactory = mock(OutboxEventFactory.class);
+        when(outboxEventFactory.create(any(), any(), any())).thenReturn(OutboxEvent.builder().build());
+
+        slotInventory = new InMemorySlotInventory(bookingRepository, 1, 40);
+        slotInventory.rebuild();
+        service = new BookingManagementService(bookingRepository, outboxEventRepository, outboxEventFactory,
+                mock(StringRedisTemplate.class), slotInventory, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void expiredPendingBookingFreesItsSlot() {
+        Booking booking = service.createBooking(42L, 7L, null, Booking.BookingType.PREMIUM,
+                Booking.TimeSlot.SLOT_21_00, tomorrow, 2);
+        assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(slotInventory.remaining(table)).isZero();
+        assertThatThrownBy(() -> service.createBooking(43L, 7L, null, Booking.BookingType.PREMIUM,
+                Booking.TimeSlot.SLOT_21_00, tomorrow, 2))
+                .isInstanceOf(IllegalStateException.class);
+
+        when(bookingRepository.lockExpiredPendingBookings(any(), anyInt())).thenReturn(List.of(
+                new TransitionCandidate(booking.getId(), 42L, Booking.BookingStatus.PENDING, 7L, null,
+                        Booking.BookingType.PREMIUM, Booking.TimeSlot.SLOT_21_00, booking.getBookingDate())));
+
+        assertThat(service.expireUnpaidBookings(LocalDateTime.now().minusMinutes(15), 500)).isEqualTo(1);
+
+        verify(bookingRepository).updateStatus(List.of(booking.getId()), Booking.BookingStatus.CANCELLED);
+        assertThat(slotInventory.remaining(table)).isEqualTo(1);
+        assertThat(service.createBooking(43L, 7L, null, Booking.BookingType.PREMIUM,
+                Booking.TimeSlot.SLOT_21_00, tomorrow, 2).getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.barbooking.booking.application;
+
+import com.example.barbooking.booking.domain.model.Booking;
+import com.example.barbooking.booking.domain.model.SlotKey;
+import com.example.barbooking.booking.domain.port.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemorySlotInventoryTest {
+
+    private final LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+    private final SlotKey table = SlotKey.of(Booking.BookingType.PREMIUM, Booking.TimeSlot.SLOT_21_00, tomorrow, 7L, null);
+    private final SlotKey zone = SlotKey.of(Booking.BookingType.NORMAL, Booking.TimeSlot.SLOT_21_00, tomorrow, null, 2L);
+
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.countSlotReservationsFrom(any())).thenReturn(Map.of());
+    }
+
+    @Test
+    void premiumTableCanOnlyBeReservedOnce() {
+        InMemorySlotInventory inventory = new InMemorySlotInventory(bookingRepository, 1, 40);
+        inventory.rebuild();
+
+        assertThat(inventory.reserve(table)).isTrue();
+        assertThat(inventory.reserve(table)).isFalse();
+
+        inventory.release(table);
+        assertThat(inventory.reserve(table)).isTrue();
+    }
+
+    @Test
+    void rebuildRestoresCountsFromRepository() {
+        when(bookingRepository.countSlotReservationsFrom(any())).thenReturn(Map.of(zone, 2L));
+        InMemorySlotInventory inventory = new InMemorySlotInventory(bookingRepository, 1, 3);
+        inventory.rebuild();
+
+        assertThat(inventory.remaining(zone)).isEqualTo(1);
+        assertThat(inventory.reserve(zone)).isTrue();
+        assertThat(inventory.reserve(zone)).isFalse();
+    }
+
+    @Test
+    void refusesToStartUnderClusterProfile() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("cluster");
+
+        assertThatThrownBy(() -> new InMemorySlotInventory(bookingRepository, 1, 40, environment))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedCapacity() throws InterruptedException {
+        InMemorySlotInventory inventory = new InMemorySlotInventory(bookingRepository, 1, 25);
+        inventory.rebuild();
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 100; j++) {
+                    if (inventory.reserve(zone)) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(25);
+        assertThat(inventory.remaining(zone)).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import com.example.barbooking.booking.BookingServiceApplication;
+import com.example.barbooking.booking.application.BookingManagementService;
+import com.example.barbooking.booking.domain.model.Booking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares booking write throughput under concurrent load for the two id strategies by calling
+ * {@link BookingManagementService#createBooking} through the real entities, the {@code @TableGenerator}
+ * mappings and the Hibernate batch settings from application.yml. Free 20:00 bookings are used because
+ * they write one booking and one BOOKING_CONFIRMED outbox event per transaction.
+ * Each run starts the application against its own database; the IDENTITY run overrides the Booking and
+ * OutboxEvent id mappings with {@code META-INF/identity-ids.orm.xml}. Redis and RabbitMQ run in
+ * containers too, since a free booking stores its QR token and relays its outbox event.
+ * Opt-in because it needs Docker:
+ *
+ * <pre>ID_BENCHMARK=true ./gradlew :services:booking-service:test --tests '*IdAllocationBenchmark'</pre>
+ */
+@Testcontainers
+@EnabledIfEnvironmentVariable(named = "ID_BENCHMARK", matches = "true")
+class IdAllocationBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(IdAllocationBenchmark.class);
+
+    private static final int THREADS = 16;
+    private static final int WARMUP_PER_THREAD = 50;
+    private static final int BOOKINGS_PER_THREAD = 500;
+    private static final int ZONES = 50;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @Container
+    static RabbitMQContainer rabbit = new RabbitMQContainer("rabbitmq:3.13");
+
+    @Test
+    void createBookingThroughput() throws Exception {
+        double identity = measure("IDENTITY", "bench_identity",
+                "--spring.jpa.mapping-resources=META-INF/identity-ids.orm.xml");
+        double pooled = measure("pooled", "bench_pooled");
+
+        log.info("pooled / IDENTITY createBooking throughput: {}", String.format("%.2fx", pooled / identity));
+    }
+
+    private double measure(String label, String database, String... extraArgs) throws Exception {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(3306) + "/" + database
+                        + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true",
+                "--spring.datasource.username=root",
+                "--spring.datasource.password=" + mysql.getPassword(),
+                "--spring.datasource.hikari.maximum-pool-size=" + THREADS,
+                "--spring.flyway.schemas=" + database,
+                "--spring.jpa.show-sql=false",
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379),
+                "--spring.rabbitmq.host=" + rabbit.getHost(),
+                "--spring.rabbitmq.port=" + rabbit.getAmqpPort(),
+                "--spring.rabbitmq.username=" + rabbit.getAdminUsername(),
+                "--spring.rabbitmq.password=" + rabbit.getAdminPassword(),
+                "--booking.inventory.zone-capacity=1000000",
+                "--logging.level.com.example.barbooking=INFO"));
+        args.addAll(List.of(extraArgs));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookingServiceApplication.class)
+                .run(args.toArray(String[]::new))) {
+            BookingManagementService service = context.getBean(BookingManagementService.class);
+
+            run(service, WARMUP_PER_THREAD, 0);
+            long start = System.nanoTime();
+            long[] latencies = run(service, BOOKINGS_PER_THREAD, WARMUP_PER_THREAD);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            double bookingsPerSecond = latencies.length / seconds;
+            log.info("[{}] threads={} bookings={} time={}s throughput={} bookings/s p50={}ms p99={}ms",
+                    label, THREADS, latencies.length, String.format("%.2f", seconds),
+                    String.format("%.0f", bookingsPerSecond),
+                    String.format("%.2f", latencies[latencies.length / 2] / 1e6),
+                    String.format("%.2f", latencies[(int) (latencies.length * 0.99)] / 1e6));
+            return bookingsPerSecond;
+        }
+    }
+
+    /**
+     * Every thread books {@code perThread} free zone bookings; returns each call's latency in nanoseconds.
+     */
+    private long[] run(BookingManagementService service, int perThread, int userOffset) throws Exception {
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            long userId = thread * 1_000_000L + userOffset;
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    long start = System.nanoTime();
+                    Booking booking = service.createBooking(userId + i, null, (long) (i % ZONES) + 1,
+                            Booking.BookingType.NORMAL, Booking.TimeSlot.SLOT_20_00, tomorrow, 2);
+                    latencies[i] = System.nanoTime() - start;
+                    assertThat(booking.getStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[THREADS * perThread];
+        int offset = 0;
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        executor.shutdown();
+        return all;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.barbooking.booking.infrastructure.adapter.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Measures the relay claim query against a large processed history.
+ * Compares the original V2 schema and unbounded scan with the V4 pending index and
+ * bounded SKIP LOCKED claim. Opt-in because seeding takes several minutes:
+ *
+ * <pre>OUTBOX_BENCHMARK=true ./gradlew :services:booking-service:test --tests '*OutboxRelayQueryBenchmark'</pre>
+ */
+@Testcontainers
+@EnabledIfEnvironmentVariable(named = "OUTBOX_BENCHMARK", matches = "true")
+class OutboxRelayQueryBenchmark {
+
+    private static final int HISTORY_ROWS = Integer.parseInt(
+            System.getenv().getOrDefault("OUTBOX_BENCHMARK_ROWS", "10000000"));
+    private static final int PENDING_ROWS = 500;
+    private static final int SEED_CHUNK = 1_000_000;
+    private static final int ITERATIONS = 50;
+
+    private static final String LEGACY_QUERY =
+            "SELECT * FROM outbox_events WHERE processed = false ORDER BY created_at";
+    private static final String CLAIM_QUERY =
+            "SELECT * FROM outbox_events FORCE INDEX (idx_outbox_pending) " +
+            "WHERE processed = false ORDER BY id LIMIT 100 FOR UPDATE SKIP LOCKED";
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--innodb-buffer-pool-size=1G");
+
+    @Test
+    void relayQueryWithLargeHistory() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+             Statement statement = connection.createStatement()) {
+
+            runMigration(statement, "db/migration/V2__Create_outbox_events_table.sql");
+            seed(statement);
+            statement.execute("ANALYZE TABLE outbox_events");
+
+            report(statement, "V2 schema, unbounded scan", LEGACY_QUERY, false);
+
+            runMigration(statement, "db/migration/V4__Outbox_retention_and_archive.sql");
+            statement.execute("ANALYZE TABLE outbox_events");
+
+            report(statement, "V4 schema, bounded claim", CLAIM_QUERY, true);
+        }
+    }
+
+    private void seed(Statement statement) throws SQLException {
+        statement.execute("SET SESSION cte_max_recursion_depth = " + SEED_CHUNK);
+        for (int seeded = 0; seeded < HISTORY_ROWS; seeded += SEED_CHUNK) {
+            int rows = Math.min(SEED_CHUNK, HISTORY_ROWS - seeded);
+            statement.execute(
+                    "INSERT INTO outbox_events (event_type, payload, processed, processed_at, created_at) " +
+                    "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + rows + ") " +
+                    "SELECT 'BOOKING_CONFIRMED', '{\"bookingId\":1,\"userId\":1}', true, " +
+                    "NOW() - INTERVAL 2 DAY, NOW() - INTERVAL 2 DAY FROM seq");
+        }
+        statement.execute("SET SESSION cte_max_recursion_depth = " + PENDING_ROWS);
+        statement.execute(
+                "INSERT INTO outbox_events (event_type, payload, processed) " +
+                "WITH RECURSIVE seq(n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < " + PENDING_ROWS + ") " +
+                "SELECT 'BOOKING_CONFIRMED', '{\"bookingId\":1,\"userId\":1}', false FROM seq");
+    }
+
+    private void report(Statement statement, String label, String query, boolean locking) throws SQLException {
+        try (ResultSet plan = statement.executeQuery("EXPLAIN " + query)) {
+            while (plan.next()) {
+                System.out.printf("[%s] plan: key=%s rows=%s extra=%s%n",
+                        label, plan.getString("key"), plan.getString("rows"), plan.getString("Extra"));
+            }
+        }
+
+        long[] samples = new long[ITERATIONS];
+        Connection connection = statement.getConnection();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (locking) {
+                connection.setAutoCommit(false);
+            }
+            long start = System.nanoTime();
+            try (ResultSet rows = statement.executeQuery(query)) {
+                while (rows.next()) {
+                    rows.getLong("id");
+                }
+            }
+            samples[i] = System.nanoTime() - start;
+            if (locking) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+
+        Arrays.sort(samples);
+        System.out.printf("[%s] history=%d pending=%d p50=%.2fms p99=%.2fms%n",
+                label, HISTORY_ROWS, PENDING_ROWS,
+                samples[ITERATIONS / 2] / 1e6, samples[(int) (ITERATIONS * 0.99)] / 1e6);
+    }
+
+    private void runMigration(Statement statement, String resource) throws IOException, SQLException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            String script = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .lines()
+                    .filter(line -> !line.trim().startsWith("--"))
+                    .reduce("", (a, b) -> a + "\n" + b);
+            for (String sql : script.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.barbooking.booking.infrastructure.adapter.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void firesAtDeadlineAndNotBefore() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, START);
+        wheel.schedule("a", START + 5_500);
+
+        assertThat(wheel.advanceTo(START + 5_499)).isEmpty();
+        assertThat(wheel.advanceTo(START + 5_999)).isEmpty();
+        assertThat(wheel.advanceTo(START + 6_000)).containsExactly("a");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void cascadesFarDeadlinesThroughOverflowLevels() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, START);
+        long inTwoDays = START + Duration.ofDays(2).toMillis();
+        long inThreeHours = START + Duration.ofHours(3).toMillis();
+        wheel.schedule("two-days", inTwoDays);
+        wheel.schedule("three-hours", inThreeHours);
+
+        assertThat(wheel.advanceTo(inThreeHours - 1)).isEmpty();
+        assertThat(wheel.advanceTo(inThreeHours)).containsExactly("three-hours");
+        assertThat(wheel.advanceTo(inTwoDays - 1)).isEmpty();
+        assertThat(wheel.advanceTo(inTwoDays)).containsExactly("two-days");
+    }
+
+    @Test
+    void rejectsDeadlinesAlreadyPassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 60, START);
+
+        assertThat(wheel.schedule("late", START - 1)).isFalse();
+        assertThat(wheel.schedule("on-time", START + 1)).isTrue();
+    }
+
+    @Test
+    void firesEverythingDueAfterALongPause() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1000, 60, START);
+        for (int i = 1; i <= 100; i++) {
+            wheel.schedule(i, START + i * 61_000L);
+        }
+
+        assertThat(wheel.advanceTo(START + 101 * 61_000L)).hasSize(100);
+    }
+}
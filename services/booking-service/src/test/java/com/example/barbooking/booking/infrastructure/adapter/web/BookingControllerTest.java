@@ -0,0 +1,29 @@
+package com.example.barbooking.booking.infrastructure.adapter.web;
+
+import com.example.barbooking.booking.application.BookingManagementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingControllerTest {
+
+    private final BookingManagementService bookingManagementService = mock(BookingManagementService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingManagementService)).build();
+
+    @Test
+    void malformedHistoryCursorIsBadRequest() throws Exception {
+        when(bookingManagementService.getBookingHistory(eq(42L), any(), any(), any(), eq("not-a-cursor"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/bookings/user/42/history").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
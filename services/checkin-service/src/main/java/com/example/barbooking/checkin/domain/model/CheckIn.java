@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 public class CheckIn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "check_in_id")
+    @TableGenerator(name = "check_in_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "check_ins", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,23 @@
+package com.example.barbooking.checkin.infrastructure.adapter.persistence;
+
+import com.example.barbooking.idsequences.IdSequenceInitializer;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Seeds the id_sequences row of the check-in generator on startup.
+ */
+@Component
+public class CheckInIdSequenceInitializer extends IdSequenceInitializer {
+
+    // Matches the allocationSize of the @TableGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Depends on the EntityManagerFactory so ddl-auto has created the tables first
+    public CheckInIdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        super(jdbcTemplate, Map.of("check_ins", "check_ins"), ALLOCATION_SIZE);
+    }
+}
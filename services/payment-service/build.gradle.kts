@@ -7,11 +7,29 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-amqp")
+    implementation("org.springframework.boot:spring-boot-starter-data-redis")
+
+    // Pooled HTTP client for calls to other services
+    implementation("org.apache.httpcomponents.client5:httpclient5")
 
     // Database
     runtimeOnly("com.mysql:mysql-connector-j")
 
+    // Idempotency-Key support for POST endpoints
+    implementation(project(":libs:idempotency"))
+
+    // Signature check of the gateway identity headers, shared with booking-service and user-service
+    implementation(project(":libs:identity"))
+
+    // Outbox relay shared with booking-service
+    implementation(project(":libs:outbox"))
+
+    // id_sequences seeding shared with checkin-service
+    implementation(project(":libs:idsequences"))
+
     // Utilities
+    implementation("com.github.ben-manes.caffeine:caffeine")
     compileOnly("org.projectlombok:lombok")
     annotationProcessor("org.projectlombok:lombok")
 
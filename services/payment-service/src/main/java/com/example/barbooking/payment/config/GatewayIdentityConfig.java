@@ -0,0 +1,25 @@
+package com.example.barbooking.payment.config;
+
+import com.example.barbooking.identity.SignedIdentityFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class GatewayIdentityConfig {
+
+    // Ahead of the Idempotency-Key filter, which scopes keys to the X-User-Id caller
+    public static final int FILTER_ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    @Bean
+    public FilterRegistrationBean<SignedIdentityFilter> signedIdentityFilter(
+            @Value("${gateway.identity.secret:BarBookingGatewayIdentitySigningKeyChangeMeInProduction}") String secret,
+            @Value("${gateway.identity.max-age-seconds:300}") long maxAgeSeconds) {
+        FilterRegistrationBean<SignedIdentityFilter> registration =
+                new FilterRegistrationBean<>(new SignedIdentityFilter(secret, maxAgeSeconds));
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
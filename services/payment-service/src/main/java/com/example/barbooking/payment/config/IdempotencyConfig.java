@@ -0,0 +1,36 @@
+package com.example.barbooking.payment.config;
+
+import com.example.barbooking.idempotency.IdempotencyFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.response-ttl-hours:24}") long responseTtlHours,
+            @Value("${idempotency.lock-ttl-seconds:30}") long lockTtlSeconds,
+            @Value("${idempotency.local.ttl-seconds:10}") long localTtlSeconds,
+            @Value("${idempotency.local.max-size:10000}") long localMaxSize) {
+        IdempotencyFilter filter = new IdempotencyFilter(redisTemplate, objectMapper, meterRegistry,
+                "idempotency:payment:", Duration.ofHours(responseTtlHours), Duration.ofSeconds(lockTtlSeconds),
+                Duration.ofSeconds(localTtlSeconds), localMaxSize);
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        // Runs after the identity headers have been verified
+        registration.setOrder(GatewayIdentityConfig.FILTER_ORDER + 1);
+        // Payment creation only; the filter also ignores anything but POST
+        registration.addUrlPatterns("/api/payments/initiate");
+        return registration;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.barbooking.payment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds one {@link RestTemplate} per downstream service, each with its own keep-alive
+ * connection pool and bulkhead, so a slow target can only tie up its own connections
+ * and callers. Pool usage is exported as {@code httpcomponents.httpclient.pool.*} and the
+ * bulkhead as {@code http.client.bulkhead.*}, both tagged with the target name; request
+ * timings come from the Boot-instrumented builder as {@code http.client.requests}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InterServiceHttpClientFactory {
+
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final MeterRegistry meterRegistry;
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public RestTemplate create(String target, Settings settings) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(settings.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(settings.readTimeout()))
+                        // Re-check connections that sat idle, the server may have closed them
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(settings.poolAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(settings.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(settings.idleTimeout()))
+                .build();
+        clients.add(httpClient);
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, target).bindTo(meterRegistry);
+
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(bulkhead(target, settings))
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        for (CloseableHttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Failed to close inter-service HTTP client: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Caps concurrent calls to the target. A call that cannot get a permit within
+     * {@code bulkheadWait} fails fast instead of queueing behind a slow target.
+     */
+    private ClientHttpRequestInterceptor bulkhead(String target, Settings settings) {
+        Semaphore permits = new Semaphore(settings.maxConcurrentCalls());
+        Gauge.builder("http.client.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Free call slots towards the target")
+                .tag("target", target)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("http.client.bulkhead.rejected")
+                .description("Calls refused because the target's bulkhead was full")
+                .tag("target", target)
+                .register(meterRegistry);
+
+        return (request, body, execution) -> {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(settings.bulkheadWait().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BulkheadFullException(target);
+            }
+            if (!acquired) {
+                rejected.increment();
+                throw new BulkheadFullException(target);
+            }
+            try {
+                return execution.execute(request, body);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    public record Settings(
+            int maxConnections,
+            Duration connectTimeout,
+            Duration readTimeout,
+            Duration poolAcquireTimeout,
+            Duration idleTimeout,
+            int maxConcurrentCalls,
+            Duration bulkheadWait
+    ) {}
+
+    public static class BulkheadFullException extends RestClientException {
+        public BulkheadFullException(String target) {
+            super("Too many concurrent calls to " + target);
+        }
+    }
+}
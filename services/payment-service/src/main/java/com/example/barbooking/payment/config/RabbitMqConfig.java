@@ -0,0 +1,23 @@
+package com.example.barbooking.payment.config;
+
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * payment-service only publishes; consumers declare and bind their own queues.
+ */
+@Configuration
+public class RabbitMqConfig {
+
+    public static final String PAYMENT_EXCHANGE = "payment.exchange";
+    public static final String PAYMENT_COMPLETED_ROUTING_KEY = "payment.completed";
+
+    @Bean
+    public Exchange paymentExchange() {
+        return ExchangeBuilder.topicExchange(PAYMENT_EXCHANGE)
+                .durable(true)
+                .build();
+    }
+}
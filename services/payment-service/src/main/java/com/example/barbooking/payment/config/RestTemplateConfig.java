@@ -1,6 +1,6 @@
 package com.example.barbooking.payment.config;
 
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -11,11 +11,22 @@ import java.time.Duration;
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(5))
-                .build();
+    public RestTemplate bookingServiceRestTemplate(
+            InterServiceHttpClientFactory clientFactory,
+            @Value("${booking-service.http.max-connections:20}") int maxConnections,
+            @Value("${booking-service.http.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${booking-service.http.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${booking-service.http.pool-acquire-timeout-ms:500}") long poolAcquireTimeoutMs,
+            @Value("${booking-service.http.idle-timeout-ms:30000}") long idleTimeoutMs,
+            @Value("${booking-service.http.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${booking-service.http.bulkhead-wait-ms:100}") long bulkheadWaitMs) {
+        return clientFactory.create("booking-service", new InterServiceHttpClientFactory.Settings(
+                maxConnections,
+                Duration.ofMillis(connectTimeoutMs),
+                Duration.ofMillis(readTimeoutMs),
+                Duration.ofMillis(poolAcquireTimeoutMs),
+                Duration.ofMillis(idleTimeoutMs),
+                maxConcurrentCalls,
+                Duration.ofMillis(bulkheadWaitMs)));
     }
 }
-
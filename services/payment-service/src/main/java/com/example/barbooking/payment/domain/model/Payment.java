@@ -17,10 +17,13 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_id")
+    @TableGenerator(name = "payment_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payments", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
+    // One payment per booking, also when two initiate requests race past the service check
+    @Column(nullable = false, unique = true)
     private Long bookingId;
 
     @Column(nullable = false)
@@ -0,0 +1,27 @@
+package com.example.barbooking.payment.domain.port;
+
+import com.example.barbooking.payment.domain.model.OutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity
+ */
+public interface OutboxEventRepository {
+
+    OutboxEvent save(OutboxEvent event);
+
+    /**
+     * Lock up to {@code limit} unprocessed events for the current transaction,
+     * skipping rows already claimed by another relay worker.
+     */
+    List<OutboxEvent> claimUnprocessedBatch(int limit);
+
+    List<OutboxEvent> claimUnprocessedByIds(Collection<Long> ids);
+
+    int markProcessed(Collection<Long> ids, LocalDateTime processedAt);
+
+    int deleteProcessedBefore(LocalDateTime cutoff, int limit);
+}
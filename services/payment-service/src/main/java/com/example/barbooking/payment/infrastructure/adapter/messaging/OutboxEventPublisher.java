@@ -0,0 +1,105 @@
+package com.example.barbooking.payment.infrastructure.adapter.messaging;
+
+import com.example.barbooking.outbox.OutboxRelay;
+import com.example.barbooking.payment.config.RabbitMqConfig;
+import com.example.barbooking.payment.domain.model.OutboxEvent;
+import com.example.barbooking.payment.domain.port.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Relays payment outbox events to RabbitMQ through the {@link OutboxRelay} shared with
+ * booking-service. {@link OutboxDispatcher} relays fresh events on commit; the scheduled
+ * poll picks up whatever it missed.
+ */
+@Component
+@Slf4j
+public class OutboxEventPublisher extends OutboxRelay<OutboxEvent> {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long keepProcessedHours;
+
+    public OutboxEventPublisher(
+            OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.workers:2}") int workers,
+            @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+            @Value("${outbox.retention.keep-processed-hours:24}") long keepProcessedHours) {
+        super(transactionTemplate, batchSize, workers, confirmTimeoutMs);
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.keepProcessedHours = keepProcessedHours;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:5000}")
+    public void publishPendingEvents() {
+        relayPending();
+    }
+
+    @Scheduled(cron = "${outbox.retention.cron:0 */10 * * * *}")
+    public void purgeProcessedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(keepProcessedHours);
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(cutoff, 1000));
+        } while (deleted == 1000);
+    }
+
+    @Override
+    protected List<OutboxEvent> claimBatch(int limit) {
+        return outboxEventRepository.claimUnprocessedBatch(limit);
+    }
+
+    @Override
+    protected List<OutboxEvent> claimByIds(Collection<Long> ids) {
+        return outboxEventRepository.claimUnprocessedByIds(ids);
+    }
+
+    @Override
+    protected void markProcessed(List<Long> ids, LocalDateTime processedAt) {
+        outboxEventRepository.markProcessed(ids, processedAt);
+    }
+
+    @Override
+    protected Long idOf(OutboxEvent event) {
+        return event.getId();
+    }
+
+    @Override
+    protected void send(OutboxEvent event, CorrelationData correlationData) {
+        String routingKey = switch (event.getEventType()) {
+            case PAYMENT_COMPLETED -> RabbitMqConfig.PAYMENT_COMPLETED_ROUTING_KEY;
+        };
+
+        // The payload is already JSON; send it as is rather than through the JSON converter
+        Message message = MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                // Lets consumers de-duplicate redeliveries after a relay crash
+                .setMessageId(correlationData.getId())
+                .build();
+        rabbitTemplate.send(RabbitMqConfig.PAYMENT_EXCHANGE, routingKey, message, correlationData);
+
+        log.debug("Published event {} to exchange with routing key {}", event.getEventType(), routingKey);
+    }
+}
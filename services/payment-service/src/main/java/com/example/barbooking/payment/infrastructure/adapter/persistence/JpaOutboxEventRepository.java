@@ -0,0 +1,33 @@
+package com.example.barbooking.payment.infrastructure.adapter.persistence;
+
+import com.example.barbooking.payment.domain.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JpaOutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query(value = "SELECT * FROM outbox_events WHERE processed = false ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimUnprocessedBatch(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE id IN (:ids) AND processed = false ORDER BY id FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimUnprocessedByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processed = true, e.processedAt = :processedAt WHERE e.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE processed = true AND processed_at < :cutoff LIMIT :limit",
+           nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
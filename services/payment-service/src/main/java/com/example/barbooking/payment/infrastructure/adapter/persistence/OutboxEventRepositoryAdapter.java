@@ -0,0 +1,48 @@
+package com.example.barbooking.payment.infrastructure.adapter.persistence;
+
+import com.example.barbooking.payment.domain.model.OutboxEvent;
+import com.example.barbooking.payment.domain.port.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxEventRepositoryAdapter implements OutboxEventRepository {
+
+    private final JpaOutboxEventRepository jpaOutboxEventRepository;
+
+    @Override
+    public OutboxEvent save(OutboxEvent event) {
+        return jpaOutboxEventRepository.save(event);
+    }
+
+    @Override
+    public List<OutboxEvent> claimUnprocessedBatch(int limit) {
+        return jpaOutboxEventRepository.claimUnprocessedBatch(limit);
+    }
+
+    @Override
+    public List<OutboxEvent> claimUnprocessedByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaOutboxEventRepository.claimUnprocessedByIds(ids);
+    }
+
+    @Override
+    public int markProcessed(Collection<Long> ids, LocalDateTime processedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jpaOutboxEventRepository.markProcessed(ids, processedAt);
+    }
+
+    @Override
+    public int deleteProcessedBefore(LocalDateTime cutoff, int limit) {
+        return jpaOutboxEventRepository.deleteProcessedBefore(cutoff, limit);
+    }
+}
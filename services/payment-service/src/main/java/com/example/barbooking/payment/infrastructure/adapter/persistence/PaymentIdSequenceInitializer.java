@@ -0,0 +1,25 @@
+package com.example.barbooking.payment.infrastructure.adapter.persistence;
+
+import com.example.barbooking.idsequences.IdSequenceInitializer;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Seeds the id_sequences rows of the payment and outbox generators on startup.
+ */
+@Component
+public class PaymentIdSequenceInitializer extends IdSequenceInitializer {
+
+    // Matches the allocationSize of the @TableGenerators
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Depends on the EntityManagerFactory so ddl-auto has created the tables first
+    public PaymentIdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        super(jdbcTemplate, Map.of(
+                "payments", "payments",
+                "outbox_events", "outbox_events"), ALLOCATION_SIZE);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.barbooking.payment.infrastructure.event;
+
+/**
+ * Published when an outbox row is written, so it can be relayed as soon as the transaction commits.
+ */
+public record OutboxEventCreated(Long outboxEventId) {}
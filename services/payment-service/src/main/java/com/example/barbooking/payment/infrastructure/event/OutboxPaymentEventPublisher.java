@@ -0,0 +1,44 @@
+package com.example.barbooking.payment.infrastructure.event;
+
+import com.example.barbooking.payment.domain.model.OutboxEvent;
+import com.example.barbooking.payment.domain.port.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the event to the outbox in the caller's transaction; the relay delivers it to
+ * RabbitMQ after commit, so payment processing never waits on booking-service.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.events.transport", havingValue = "outbox", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxPaymentEventPublisher implements PaymentEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public void publishPaymentCompleted(PaymentCompletedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize payment completed event", e);
+        }
+
+        OutboxEvent outboxEvent = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(OutboxEvent.EventType.PAYMENT_COMPLETED)
+                .payload(payload)
+                .processed(false)
+                .build());
+        applicationEventPublisher.publishEvent(new OutboxEventCreated(outboxEvent.getId()));
+        log.debug("Queued payment completed event {} for booking {}", outboxEvent.getId(), event.bookingId());
+    }
+}
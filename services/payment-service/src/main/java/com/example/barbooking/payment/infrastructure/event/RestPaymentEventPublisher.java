@@ -3,6 +3,7 @@ package com.example.barbooking.payment.infrastructure.event;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -12,12 +13,17 @@ import org.springframework.web.client.RestTemplate;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Synchronous webhook to booking-service, kept for deployments without RabbitMQ
+ * ({@code payment.events.transport=rest}). Failures are logged, not retried.
+ */
 @Component
+@ConditionalOnProperty(name = "payment.events.transport", havingValue = "rest")
 @RequiredArgsConstructor
 @Slf4j
 public class RestPaymentEventPublisher implements PaymentEventPublisher {
 
-    private final RestTemplate restTemplate;
+    private final RestTemplate bookingServiceRestTemplate;
 
     @Value("${booking-service.url:http://booking-service:8081}")
     private String bookingServiceUrl;
@@ -41,7 +47,7 @@ public class RestPaymentEventPublisher implements PaymentEventPublisher {
             HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
 
             // Call booking service
-            restTemplate.postForEntity(url, request, Void.class);
+            bookingServiceRestTemplate.postForEntity(url, request, Void.class);
             
             log.info("Successfully published payment completed event for booking {}", event.bookingId());
         } catch (Exception e) {
@@ -2,6 +2,7 @@ package com.example.barbooking.table.application;
 
 import com.example.barbooking.table.domain.model.TableEntity;
 import com.example.barbooking.table.domain.model.Zone;
+import com.example.barbooking.table.domain.port.CatalogChangePublisher;
 import com.example.barbooking.table.domain.port.TableRepository;
 import com.example.barbooking.table.domain.port.ZoneRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ public class TableManagementService {
 
     private final ZoneRepository zoneRepository;
     private final TableRepository tableRepository;
+    private final CatalogChangePublisher catalogChangePublisher;
 
     // Zone operations
     public Zone createZone(String name, String description) {
@@ -26,7 +28,9 @@ public class TableManagementService {
                 .description(description)
                 .active(true)
                 .build();
-        return zoneRepository.save(zone);
+        Zone saved = zoneRepository.save(zone);
+        catalogChangePublisher.catalogChanged("zone:" + saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -58,7 +62,9 @@ public class TableManagementService {
                 .active(true)
                 .build();
 
-        return tableRepository.save(table);
+        TableEntity saved = tableRepository.save(table);
+        catalogChangePublisher.catalogChanged("table:" + saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -86,6 +92,7 @@ public class TableManagementService {
                 .orElseThrow(() -> new IllegalArgumentException("Table not found"));
         table.markAsUnavailable();
         tableRepository.save(table);
+        catalogChangePublisher.catalogChanged("table:" + tableId);
     }
 
     public void markTableAsAvailable(Long tableId) {
@@ -93,6 +100,7 @@ public class TableManagementService {
                 .orElseThrow(() -> new IllegalArgumentException("Table not found"));
         table.markAsAvailable();
         tableRepository.save(table);
+        catalogChangePublisher.catalogChanged("table:" + tableId);
     }
 }
 
@@ -0,0 +1,10 @@
+package com.example.barbooking.table.domain.port;
+
+/**
+ * Announces changes to zones or tables so cached copies of the catalog can be dropped
+ * (Port in Hexagonal Architecture)
+ */
+public interface CatalogChangePublisher {
+
+    void catalogChanged(String reason);
+}
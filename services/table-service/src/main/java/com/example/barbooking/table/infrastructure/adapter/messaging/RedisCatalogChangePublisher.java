@@ -0,0 +1,46 @@
+package com.example.barbooking.table.infrastructure.adapter.messaging;
+
+import com.example.barbooking.table.domain.port.CatalogChangePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes catalog changes on the {@link #CHANNEL} Redis channel once the transaction commits,
+ * which the gateway uses to drop its cached zone and table responses. Best effort: a lost
+ * message leaves the gateway serving the old catalog until its cache TTL runs out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisCatalogChangePublisher implements CatalogChangePublisher {
+
+    public static final String CHANNEL = "catalog:changed";
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void catalogChanged(String reason) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(reason);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(reason);
+            }
+        });
+    }
+
+    private void publish(String reason) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, reason);
+        } catch (Exception e) {
+            log.warn("Failed to publish catalog change {}: {}", reason, e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.barbooking.user.infrastructure.config;
 
+import com.example.barbooking.user.infrastructure.security.GatewayIdentityFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,15 +10,22 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${gateway.identity.secret:BarBookingGatewayIdentitySigningKeyChangeMeInProduction}") String identitySecret,
+            @Value("${gateway.identity.max-age-seconds:300}") long identityMaxAgeSeconds) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
+                // Identity comes from api-gateway's signed headers, not from the JWT
+                .addFilterBefore(new GatewayIdentityFilter(identitySecret, identityMaxAgeSeconds),
+                        UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints
@@ -0,0 +1,27 @@
+package com.example.barbooking.user.infrastructure.security;
+
+import com.example.barbooking.identity.SignedIdentityFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+/**
+ * Exposes the identity headers set by api-gateway as the authenticated principal once
+ * {@link SignedIdentityFilter} has checked their signature.
+ */
+public class GatewayIdentityFilter extends SignedIdentityFilter {
+
+    public GatewayIdentityFilter(String secret, long maxAgeSeconds) {
+        super(secret, maxAgeSeconds);
+    }
+
+    @Override
+    protected void onTrustedIdentity(HttpServletRequest request, Long userId, String role) {
+        List<SimpleGrantedAuthority> authorities = role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, authorities));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.barbooking.user.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayIdentityFilterTest {
+
+    private static final String SECRET = "test-identity-secret";
+
+    private final GatewayIdentityFilter filter = new GatewayIdentityFilter(SECRET, 300);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void signedHeadersBecomeThePrincipal() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        MockHttpServletRequest request = request("42", "CUSTOMER", now, sign("42:CUSTOMER:" + now));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seen.get().getPrincipal()).isEqualTo(42L);
+        assertThat(seen.get().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void forgedUserIdIsRejected() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        MockHttpServletRequest request = request("43", "CUSTOMER", now, sign("42:CUSTOMER:" + now));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void staleSignatureIsRejected() throws Exception {
+        long old = Instant.now().getEpochSecond() - 3600;
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("42", "CUSTOMER", old, sign("42:CUSTOMER:" + old)), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+    }
+
+    @Test
+    void requestsWithoutIdentityPassThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users/1"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    private static MockHttpServletRequest request(String userId, String role, long timestamp, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(GatewayIdentityFilter.USER_ID_HEADER, userId);
+        request.addHeader(GatewayIdentityFilter.USER_ROLE_HEADER, role);
+        request.addHeader(GatewayIdentityFilter.TIMESTAMP_HEADER, Long.toString(timestamp));
+        request.addHeader(GatewayIdentityFilter.SIGNATURE_HEADER, signature);
+        return request;
+    }
+
+    // Same scheme as api-gateway's IdentitySigner
+    private static String sign(String value) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -6,6 +6,12 @@ include(
     "services:table-service",
     "services:booking-service",
     "services:checkin-service",
-    "services:payment-service"
+    "services:payment-service",
+    "libs:idempotency",
+    "libs:outbox",
+    "libs:idsequences",
+    "libs:identity",
+    "benchmarks",
+    "loadtest"
 )
 